@@ -0,0 +1,99 @@
+// k6 two-node correctness scenario for multi-node mode; run via load-test/cluster.sh.
+//
+// Every iteration uploads through one node and reads back through the other, so it only
+// passes if storage, job processing and the database are shared and nothing a request
+// needs is node-local. Teardown checks that every job finished and none was dead-lettered.
+
+import http from 'k6/http';
+import { check, fail, sleep } from 'k6';
+
+const NODES = (__ENV.BASE_URLS || 'http://localhost:8080,http://localhost:8081').split(',');
+const SAMPLE_FILE = open(__ENV.SAMPLE_FILE || './sample-srs.pdf', 'b');
+const PASSWORD = 'loadtest123';
+const ANALYSIS_TIMEOUT_S = Number(__ENV.ANALYSIS_TIMEOUT_S || 60);
+
+let vuToken = null;
+
+export const options = {
+  scenarios: {
+    crossNode: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '20s', target: Number(__ENV.STUDENTS || 20) },
+        { duration: '1m', target: Number(__ENV.STUDENTS || 20) },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    'checks': ['rate==1.0'],
+    'http_req_failed': ['rate<0.01'],
+  },
+};
+
+function jsonHeaders(token) {
+  const headers = { 'Content-Type': 'application/json' };
+  if (token) {
+    headers.Authorization = `Bearer ${token}`;
+  }
+  return headers;
+}
+
+function signupAndLogin(baseUrl, role, tag) {
+  const email = `${role.toLowerCase()}-${tag}-${Date.now()}@cluster.local`;
+  http.post(`${baseUrl}/api/auth/signup`, JSON.stringify({
+    firstName: 'Cluster',
+    lastName: `User${tag}`,
+    email,
+    password: PASSWORD,
+    passwordConfirm: PASSWORD,
+    role,
+  }), { headers: jsonHeaders() });
+
+  const res = http.post(`${baseUrl}/api/auth/login`, JSON.stringify({ email, password: PASSWORD }), {
+    headers: jsonHeaders(),
+  });
+  if (res.status !== 200) {
+    fail(`login failed on ${baseUrl}: ${res.status}`);
+  }
+  return res.json('token');
+}
+
+export default function () {
+  const writeNode = NODES[__ITER % NODES.length];
+  const readNode = NODES[(__ITER + 1) % NODES.length];
+
+  if (!vuToken) {
+    // Sign up on one node, use the token on every node
+    vuToken = signupAndLogin(writeNode, 'STUDENT', __VU);
+  }
+
+  const upload = http.post(
+    `${writeNode}/submissions/upload`,
+    { file: http.file(SAMPLE_FILE, `sample-${__VU}-${__ITER}.pdf`, 'application/pdf') },
+    { headers: { Authorization: `Bearer ${vuToken}`, 'Idempotency-Key': `${__VU}-${__ITER}-${Date.now()}` } }
+  );
+  if (!check(upload, { 'upload accepted': (r) => r.status === 200 })) {
+    return;
+  }
+  const id = upload.json('id');
+
+  let analysisStatus = 'PENDING';
+  for (let waited = 0; waited < ANALYSIS_TIMEOUT_S && analysisStatus === 'PENDING'; waited++) {
+    sleep(1);
+    const res = http.get(`${readNode}/submissions/${id}?view=summary`, { headers: jsonHeaders(vuToken) });
+    check(res, { 'visible on other node': (r) => r.status === 200 });
+    analysisStatus = res.status === 200 ? res.json('analysisStatus') : analysisStatus;
+  }
+  check(analysisStatus, { 'analysis completed': (s) => s === 'COMPLETED' });
+}
+
+export function teardown() {
+  const token = signupAndLogin(NODES[0], 'INSTRUCTOR', 'teardown');
+  const res = http.get(`${NODES[1]}/api/instructor/jobs?status=DEAD`, { headers: jsonHeaders(token) });
+  check(res, {
+    'no dead-lettered jobs': (r) => r.status === 200 && r.json('counts.DEAD') === 0,
+    'no jobs left behind': (r) => r.status === 200 && r.json('counts.PENDING') === 0 && r.json('counts.RUNNING') === 0,
+  });
+}
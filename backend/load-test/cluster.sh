@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Two app instances against one local PostgreSQL, exercised by load-test/cluster.js.
+#
+# Prerequisites: a PostgreSQL database reachable via DB_URL/DB_USERNAME/DB_PASSWORD
+# (defaults: jdbc:postgresql://localhost:5432/sace, sace/sace), k6, and a sample PDF.
+#
+#   load-test/cluster.sh ./sample-srs.pdf
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+SAMPLE_FILE="${1:-./sample-srs.pdf}"
+WORK_DIR="$(mktemp -d)"
+PIDS=()
+
+cleanup() {
+  for pid in "${PIDS[@]}"; do
+    kill "$pid" 2>/dev/null || true
+  done
+  wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+mvn -B -q -DskipTests package
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+
+wait_for() {
+  for _ in $(seq 1 60); do
+    if curl -sf "$1/actuator/health" >/dev/null; then
+      return 0
+    fi
+    sleep 2
+  done
+  echo "Timed out waiting for $1" >&2
+  return 1
+}
+
+java -jar "$JAR" --spring.profiles.active=gemini-stub > "$WORK_DIR/stub.log" 2>&1 &
+PIDS+=($!)
+
+for node in a b; do
+  port=$([ "$node" = a ] && echo 8080 || echo 8081)
+  java -jar "$JAR" --spring.profiles.active=postgres,cluster,loadtest \
+    --server.port="$port" \
+    --app.node-id="node-$node" \
+    --app.search.index-dir="$WORK_DIR/node-$node/search-index" \
+    > "$WORK_DIR/node-$node.log" 2>&1 &
+  PIDS+=($!)
+done
+
+wait_for http://localhost:8089
+wait_for http://localhost:8080
+wait_for http://localhost:8081
+
+k6 run -e BASE_URLS=http://localhost:8080,http://localhost:8081 -e SAMPLE_FILE="$SAMPLE_FILE" \
+  --summary-export=target/cluster-summary.json load-test/cluster.js
+
+echo "Node logs: $WORK_DIR"
@@ -0,0 +1,125 @@
+// k6 load scenario for the SACE backend.
+//
+// 1. Start the Gemini stand-in:  mvn spring-boot:run -Dspring-boot.run.profiles=gemini-stub
+// 2. Start the app under test:   mvn spring-boot:run -Dspring-boot.run.profiles=loadtest
+// 3. Run:  k6 run -e BASE_URL=http://localhost:8080 -e SAMPLE_FILE=./sample-srs.pdf \
+//            --summary-export=target/load-summary.json load-test/submissions.js
+//
+// The summary export contains throughput (http_reqs rate) and p(99) latency per
+// endpoint tag, so it can be archived per build. Server-side percentiles are also
+// available from /actuator/metrics/http.server.requests under the loadtest profile.
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SAMPLE_FILE = open(__ENV.SAMPLE_FILE || './sample-srs.pdf', 'b');
+const PASSWORD = 'loadtest123';
+
+// Each VU runs in its own JS runtime, so this caches one login per VU.
+let vuToken = null;
+
+export const options = {
+  scenarios: {
+    students: {
+      executor: 'ramping-vus',
+      exec: 'student',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Number(__ENV.STUDENTS || 50) },
+        { duration: '2m', target: Number(__ENV.STUDENTS || 50) },
+        { duration: '15s', target: 0 },
+      ],
+    },
+    instructors: {
+      executor: 'constant-vus',
+      exec: 'instructor',
+      vus: Number(__ENV.INSTRUCTORS || 5),
+      duration: '2m45s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    'http_req_duration{endpoint:list}': ['p(99)<1000'],
+    'http_req_failed': ['rate<0.01'],
+  },
+};
+
+function jsonHeaders(token) {
+  const headers = { 'Content-Type': 'application/json' };
+  if (token) {
+    headers.Authorization = `Bearer ${token}`;
+  }
+  return headers;
+}
+
+function signupAndLogin(role) {
+  const email = `${role.toLowerCase()}-${__VU}-${Date.now()}@loadtest.local`;
+  const body = JSON.stringify({
+    firstName: 'Load',
+    lastName: `User${__VU}`,
+    email,
+    password: PASSWORD,
+    passwordConfirm: PASSWORD,
+    role,
+  });
+  http.post(`${BASE_URL}/api/auth/signup`, body, {
+    headers: jsonHeaders(),
+    tags: { endpoint: 'signup' },
+  });
+
+  const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({ email, password: PASSWORD }), {
+    headers: jsonHeaders(),
+    tags: { endpoint: 'login' },
+  });
+  check(res, { 'login ok': (r) => r.status === 200 });
+  return res.json('token');
+}
+
+export function student() {
+  if (!vuToken) {
+    vuToken = signupAndLogin('STUDENT');
+  }
+  const token = vuToken;
+
+  const upload = http.post(
+    `${BASE_URL}/submissions/upload`,
+    { file: http.file(SAMPLE_FILE, 'sample-srs.pdf', 'application/pdf') },
+    { headers: { Authorization: `Bearer ${token}` }, tags: { endpoint: 'upload' } }
+  );
+  check(upload, { 'upload ok': (r) => r.status === 200 });
+
+  const list = http.get(`${BASE_URL}/submissions`, {
+    headers: jsonHeaders(token),
+    tags: { endpoint: 'list' },
+  });
+  check(list, { 'list ok': (r) => r.status === 200 });
+
+  sleep(1);
+}
+
+export function instructor() {
+  if (!vuToken) {
+    vuToken = signupAndLogin('INSTRUCTOR');
+  }
+  const token = vuToken;
+
+  const all = http.get(`${BASE_URL}/submissions/all`, {
+    headers: jsonHeaders(token),
+    tags: { endpoint: 'listAll' },
+  });
+  check(all, { 'list all ok': (r) => r.status === 200 });
+
+  const submissions = all.status === 200 ? all.json() : [];
+  if (submissions.length > 0) {
+    const target = submissions[Math.floor(Math.random() * submissions.length)];
+    const review = http.patch(
+      `${BASE_URL}/submissions/${target.id}/status`,
+      JSON.stringify({ status: 'UNDER_REVIEW' }),
+      { headers: jsonHeaders(token), tags: { endpoint: 'review' } }
+    );
+    check(review, { 'review ok': (r) => r.status === 200 });
+  }
+
+  sleep(2);
+}
@@ -0,0 +1,143 @@
+package com.sace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Dedicated executors for long-running work that must not hold Tomcat request threads.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${app.jobs.worker-threads:4}")
+    private int jobWorkerThreads;
+
+    @Value("${app.mvc.async.threads:8}")
+    private int mvcAsyncThreads;
+
+    @Value("${app.mvc.async.timeout-ms:600000}")
+    private long mvcAsyncTimeoutMs;
+
+    @Value("${app.preview.threads:2}")
+    private int previewThreads;
+
+    @Value("${app.preview.queue-capacity:16}")
+    private int previewQueueCapacity;
+
+    @Value("${app.events.send-threads:4}")
+    private int eventSendThreads;
+
+    @Value("${app.events.send-queue-capacity:1000}")
+    private int eventSendQueueCapacity;
+
+    @Value("${app.cluster.write-queue-capacity:1000}")
+    private int clusterWriteQueueCapacity;
+
+    // 0 = half the available cores
+    @Value("${app.security.password-hash.threads:0}")
+    private int passwordHashThreads;
+
+    @Value("${app.security.password-hash.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+
+    /**
+     * Workers for queued extraction/analysis jobs; AnalysisJobService never claims more
+     * jobs than there are idle threads, so the queue only absorbs the hand-off.
+     */
+    @Bean(name = "analysisJobExecutor")
+    public ThreadPoolTaskExecutor analysisJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobWorkerThreads);
+        executor.setMaxPoolSize(jobWorkerThreads);
+        executor.setQueueCapacity(jobWorkerThreads);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs StreamingResponseBody writers (exports) instead of Spring's unbounded default executor
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcAsyncThreads);
+        executor.setMaxPoolSize(mvcAsyncThreads);
+        executor.setQueueCapacity(mvcAsyncThreads * 4);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        configurer.setDefaultTimeout(mvcAsyncTimeoutMs);
+    }
+
+    /**
+     * Drains per-subscriber SSE queues; a slow client holds at most one of these threads
+     */
+    @Bean(name = "eventSendExecutor")
+    public ThreadPoolTaskExecutor eventSendExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(eventSendThreads);
+        executor.setMaxPoolSize(eventSendThreads);
+        executor.setQueueCapacity(eventSendQueueCapacity);
+        executor.setThreadNamePrefix("sse-send-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes cluster_events rows off the request thread; one thread keeps them in publish order
+     */
+    @Bean(name = "clusterEventWriteExecutor")
+    public ThreadPoolTaskExecutor clusterEventWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(clusterWriteQueueCapacity);
+        executor.setThreadNamePrefix("cluster-event-write-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * PDF page rendering for previews; memory hungry at high DPI, so kept small
+     */
+    @Bean(name = "previewRenderExecutor")
+    public ThreadPoolTaskExecutor previewRenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(previewThreads);
+        executor.setMaxPoolSize(previewThreads);
+        executor.setQueueCapacity(previewQueueCapacity);
+        executor.setThreadNamePrefix("preview-render-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CPU-bound BCrypt work for logins, signups and password changes. Deliberately small;
+     * PasswordHashingService rejects work once the queue is full.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int threads = passwordHashThreads > 0
+                ? passwordHashThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
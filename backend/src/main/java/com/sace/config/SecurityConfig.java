@@ -2,8 +2,11 @@ package com.sace.config;
 
 import com.sace.security.JwtAuthenticationEntryPoint;
 import com.sace.security.JwtAuthenticationFilter;
+import com.sace.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -33,9 +36,13 @@ public class SecurityConfig {
     @Autowired
     private com.sace.security.CustomAccessDeniedHandler customAccessDeniedHandler;
 
+    // Raising the work factor upgrades existing hashes on each user's next login
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -43,6 +50,11 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
 
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         return http.getSharedObject(AuthenticationManagerBuilder.class)
@@ -79,6 +91,9 @@ public class SecurityConfig {
 
 .authorizeHttpRequests(authorizeRequests ->
     authorizeRequests
+        // Async dispatches (SSE, rendered previews) resume a request that was already authorized
+        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
         // Public endpoints
         .requestMatchers(HttpMethod.POST, "/api/auth/signup", "/api/auth/login", "/api/auth/google").permitAll()
         .requestMatchers(HttpMethod.POST, "/api/auth/logout").permitAll()
@@ -102,6 +117,7 @@ public class SecurityConfig {
 );
 
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter(), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,101 @@
+package com.sace.controller;
+
+import com.sace.entity.AnalysisJob;
+import com.sace.service.AnalysisJobService;
+import com.sace.service.PromptBackfillService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Instructor view of the analysis job queue, mainly to inspect and requeue dead-lettered jobs.
+ * Access is restricted to INSTRUCTOR by the /api/instructor/** rule in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/instructor/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+public class AnalysisJobController {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final AnalysisJobService jobService;
+    private final PromptBackfillService backfillService;
+
+    /**
+     * Endpoint: GET /api/instructor/jobs?status=DEAD&limit=50
+     */
+    @GetMapping
+    public ResponseEntity<?> getJobs(
+            @RequestParam(value = "status", defaultValue = "DEAD") String status,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        AnalysisJob.JobStatus jobStatus;
+        try {
+            jobStatus = AnalysisJob.JobStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Invalid status: " + status + ". Valid statuses are: PENDING, RUNNING, SUCCEEDED, DEAD");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "limit must be between 1 and " + MAX_LIMIT);
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("counts", jobService.getQueueCounts());
+        response.put("waitByClass", jobService.getWaitStats());
+        response.put("jobs", jobService.getJobs(jobStatus, limit));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint: POST /api/instructor/jobs/{id}/retry
+     */
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<?> retryJob(@PathVariable Long id) {
+        if (!jobService.requeue(id)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Job " + id + " is not dead-lettered");
+            return ResponseEntity.badRequest().body(error);
+        }
+        log.info("Requeued analysis job {}", id);
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Job " + id + " requeued");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint: POST /api/instructor/jobs/reanalyze/{submissionId}
+     */
+    @PostMapping("/reanalyze/{submissionId}")
+    public ResponseEntity<?> reanalyze(@PathVariable Long submissionId) {
+        try {
+            return ResponseEntity.ok(jobService.reanalyze(submissionId));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+    }
+
+    /**
+     * Endpoint: GET /api/instructor/jobs/backfill - progress of re-analysis after a prompt upgrade
+     */
+    @GetMapping("/backfill")
+    public ResponseEntity<?> getBackfillStatus() {
+        return ResponseEntity.ok(backfillService.getStatus());
+    }
+}
@@ -0,0 +1,56 @@
+package com.sace.controller;
+
+import com.sace.service.AnalyticsService;
+import com.sace.service.PreAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instructor analytics backed by precomputed aggregate tables.
+ * Access is restricted to INSTRUCTOR by the /api/instructor/** rule in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/instructor/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+public class AnalyticsController {
+
+    private static final int MAX_DAYS = 366;
+
+    private final AnalyticsService analyticsService;
+    private final PreAnalysisService preAnalysisService;
+
+    /**
+     * Endpoint: GET /api/instructor/analytics?days=30
+     */
+    @GetMapping
+    public ResponseEntity<?> getAnalytics(@RequestParam(value = "days", defaultValue = "30") int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "days must be between 1 and " + MAX_DAYS);
+            return ResponseEntity.badRequest().body(error);
+        }
+        Map<String, Object> analytics = analyticsService.getAnalytics(days);
+        // Since node start; SKIP is the number of Gemini calls avoided
+        analytics.put("llmRouting", preAnalysisService.getDecisionCounts());
+        return ResponseEntity.ok(analytics);
+    }
+
+    /**
+     * Recompute the aggregate tables from submissions; also runs nightly
+     * Endpoint: POST /api/instructor/analytics/recount
+     */
+    @PostMapping("/recount")
+    public ResponseEntity<?> recount() {
+        analyticsService.recountAggregates();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Analytics aggregates recounted");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -12,6 +12,7 @@ import com.sace.service.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -43,6 +45,8 @@ public class AuthController {
             
             AuthResponse response = AuthResponse.of(token, user);
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -52,7 +56,12 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Optional<User> user = userService.login(loginRequest);
+        Optional<User> user;
+        try {
+            user = userService.login(loginRequest);
+        } catch (RejectedExecutionException e) {
+            return serviceBusy(e);
+        }
         
         if (user.isPresent()) {
             String token = tokenProvider.generateToken(user.get().getEmail(), user.get().getRole(), user.get().getId());
@@ -103,13 +112,12 @@ public class AuthController {
             
             log.info("Processing Google OAuth login");
             
-            // Decode and validate the Google JWT token
+            // Verify the Google ID token signature and claims
             GoogleTokenValidator.GoogleTokenInfo tokenInfo;
             try {
-                tokenInfo = googleTokenValidator.decodeToken(token);
-                log.info("Token decoded successfully for user: {}", tokenInfo.getEmail());
-            } catch (Exception e) {
-                log.error("Failed to decode Google token", e);
+                tokenInfo = googleTokenValidator.verifyToken(token);
+                log.info("Token verified for user: {}", tokenInfo.getEmail());
+            } catch (IllegalArgumentException e) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", "Invalid Google token: " + e.getMessage()));
             }
@@ -125,7 +133,7 @@ public class AuthController {
             log.debug("Google ID from token: {}", googleId);
             
             // Check if user already exists with this Google ID
-            Optional<User> existingUser = userService.findByGoogleId(googleId);
+            Optional<User> existingUser = userService.findByGoogleIdUncached(googleId);
             User user;
             
             if (existingUser.isPresent()) {
@@ -148,7 +156,7 @@ public class AuthController {
                 user = userService.saveUser(user);
             } else {
                 // Check if email already exists (user might have signed up with email/password first)
-                Optional<User> userByEmail = userService.findByEmail(tokenInfo.getEmail());
+                Optional<User> userByEmail = userService.findByEmailUncached(tokenInfo.getEmail());
                 if (userByEmail.isPresent()) {
                     // Link Google account to existing user
                     user = userByEmail.get();
@@ -193,4 +201,13 @@ public class AuthController {
                 .body(Map.of("message", "Login failed: " + e.getMessage()));
         }
     }
+
+    /**
+     * Password hashing pool saturated (login storm); the client should retry shortly
+     */
+    private ResponseEntity<?> serviceBusy(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,149 @@
+package com.sace.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the Gemini generateContent and streamGenerateContent APIs, used for load testing.
+ * Only active with the "gemini-stub" profile; point gemini.api.base-url at this
+ * instance to exercise the full upload path without calling Google.
+ */
+@RestController
+@Profile("gemini-stub")
+@Slf4j
+public class GeminiStubController {
+
+    @Value("${stub.gemini.latency-ms:800}")
+    private long latencyMs;
+
+    @Value("${stub.gemini.latency-jitter-ms:400}")
+    private long latencyJitterMs;
+
+    @Value("${stub.gemini.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${stub.gemini.error-status:503}")
+    private int errorStatus;
+
+    @Value("${stub.gemini.stream-chunks:5}")
+    private int streamChunks;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Mimics POST /v1beta/models/{model}:generateContent and :streamGenerateContent?alt=sse
+     */
+    @PostMapping("/v1beta/models/{modelAction}")
+    public ResponseEntity<?> generateContent(
+            @PathVariable String modelAction,
+            @RequestBody Map<String, Object> request) throws InterruptedException {
+        boolean json = request.get("generationConfig") instanceof Map<?, ?> config
+                && "application/json".equals(config.get("responseMimeType"));
+        if (modelAction.endsWith(":streamGenerateContent")) {
+            return streamContent(json ? stubJson(modelAction) : stubText(modelAction));
+        }
+
+        simulateLatency();
+
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return error(HttpStatus.valueOf(errorStatus), "Simulated Gemini failure", "UNAVAILABLE");
+        }
+
+        if (json) {
+            return ResponseEntity.ok(candidateResponse(stubJson(modelAction)));
+        }
+
+        return ResponseEntity.ok(candidateResponse(stubText(modelAction)));
+    }
+
+    /**
+     * Split the response text across several "data:" events, spreading the configured latency over them
+     */
+    private ResponseEntity<?> streamContent(String text) {
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return error(HttpStatus.valueOf(errorStatus), "Simulated Gemini failure", "UNAVAILABLE");
+        }
+        int chunks = Math.max(1, streamChunks);
+        int chunkSize = Math.max(1, (text.length() + chunks - 1) / chunks);
+
+        StreamingResponseBody body = out -> {
+            try {
+                for (int start = 0; start < text.length(); start += chunkSize) {
+                    Thread.sleep(latencyMs / chunks);
+                    String part = text.substring(start, Math.min(text.length(), start + chunkSize));
+                    String event = "data: " + objectMapper.writeValueAsString(candidateResponse(part)) + "\r\n\r\n";
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(body);
+    }
+
+    private String stubJson(String modelAction) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "qualityScore", 7,
+                    "criteria", List.of(
+                            Map.of("name", "Completeness", "score", 7, "comment", "Most sections present"),
+                            Map.of("name", "Consistency", "score", 8, "comment", "No contradictions"),
+                            Map.of("name", "Clarity", "score", 7, "comment", "Mostly clear")),
+                    "presentSections", List.of("Introduction", "Overall Description", "Specific Requirements"),
+                    "missingSections", List.of("Appendices"),
+                    "summary", stubText(modelAction)));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String stubText(String modelAction) {
+        String model = modelAction.split(":")[0];
+        return "## Stub analysis (" + model + ")\n\n"
+                + "1. Completeness: Introduction, Overall Description and Specific Requirements present.\n"
+                + "2. Consistency: No contradictions detected.\n"
+                + "3. Clarity: Language is clear.\n"
+                + "6. Quality Assessment: 7/10\n";
+    }
+
+    private Map<String, Object> candidateResponse(String text) {
+        return Map.of("candidates", List.of(
+                Map.of("content", Map.of(
+                        "role", "model",
+                        "parts", List.of(Map.of("text", text))),
+                        "finishReason", "STOP")));
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message, String statusName) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("code", status.value());
+        error.put("message", message);
+        error.put("status", statusName);
+        return ResponseEntity.status(status).body(Map.of("error", error));
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delay = latencyMs;
+        if (latencyJitterMs > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latencyJitterMs + 1);
+        }
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sace.controller;
+
+import com.sace.security.GoogleTokenValidator;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for Google's JWKS endpoint and ID-token issuer, so Google sign-in can be
+ * exercised offline. Only active with the "google-stub" profile; point app.google.jwks-uri
+ * at /stub/google/certs on this instance and log in with tokens from /stub/google/token.
+ */
+@RestController
+@Profile("google-stub")
+@RequestMapping("/stub/google")
+@Slf4j
+public class GoogleStubController {
+
+    private static final String KEY_ID = "sace-stub";
+
+    @Value("${app.google.client-id:" + GoogleTokenValidator.DEFAULT_CLIENT_ID + "}")
+    private String clientId;
+
+    @Value("${stub.google.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
+    @Value("${stub.google.token-ttl-seconds:3600}")
+    private long tokenTtlSeconds;
+
+    private final KeyPair keyPair;
+
+    public GoogleStubController() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        this.keyPair = generator.generateKeyPair();
+    }
+
+    /**
+     * Mimics GET https://www.googleapis.com/oauth2/v3/certs
+     */
+    @GetMapping("/certs")
+    public ResponseEntity<Map<String, Object>> certs() {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Map<String, Object> jwk = Map.of(
+                "kty", "RSA",
+                "alg", "RS256",
+                "use", "sig",
+                "kid", KEY_ID,
+                "n", base64Url(publicKey.getModulus()),
+                "e", base64Url(publicKey.getPublicExponent()));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(Map.of("keys", List.of(jwk)));
+    }
+
+    /**
+     * Issue a signed ID token: POST /stub/google/token {"email": "...", "name": "..."}
+     */
+    @PostMapping("/token")
+    public Map<String, String> issueToken(@RequestBody Map<String, String> request) {
+        String email = request.getOrDefault("email", "student@example.com");
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .header().keyId(KEY_ID).and()
+                .issuer("https://accounts.google.com")
+                .subject(request.getOrDefault("sub", "stub-" + email))
+                .audience().add(clientId).and()
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + tokenTtlSeconds * 1000))
+                .claim("email", email)
+                .claim("email_verified", true)
+                .claim("name", request.getOrDefault("name", "Stub User"))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+        log.debug("Issued stub Google token for {}", email);
+        return Map.of("token", token);
+    }
+
+    private String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds when the high bit is set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
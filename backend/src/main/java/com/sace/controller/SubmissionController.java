@@ -1,22 +1,53 @@
 package com.sace.controller;
 
+import com.sace.dto.BulkStatusUpdateRequest;
+import com.sace.dto.SearchResultDTO;
 import com.sace.dto.SubmissionDTO;
+import com.sace.dto.SubmissionFile;
+import com.sace.dto.SubmissionViews;
+import com.sace.entity.AnalysisJob;
 import com.sace.entity.User;
+import com.sace.service.AnalysisJobService;
+import com.sace.service.PagePreviewService;
+import com.sace.service.SimilarityService;
+import com.sace.service.SubmissionEventService;
+import com.sace.service.SubmissionReviewService;
+import com.sace.service.SubmissionSearchService;
 import com.sace.service.SubmissionService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/submissions")
@@ -26,18 +57,29 @@ import java.util.Optional;
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final SubmissionEventService eventService;
+    private final SubmissionSearchService searchService;
+    private final SimilarityService similarityService;
+    private final PagePreviewService pagePreviewService;
+    private final SubmissionReviewService reviewService;
+    private final AnalysisJobService jobService;
 
     @PostMapping("/upload")
     public ResponseEntity<?> uploadFile(
             @AuthenticationPrincipal User user,
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            SubmissionDTO submission = submissionService.uploadFile(user, file);
+            SubmissionDTO submission = submissionService.uploadFile(user, file, idempotencyKey);
             return ResponseEntity.ok(submission);
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (IOException e) {
             log.error("File upload failed", e);
             Map<String, String> error = new HashMap<>();
@@ -49,7 +91,8 @@ public class SubmissionController {
     @PostMapping("/link")
     public ResponseEntity<?> uploadGoogleDriveLink(
             @AuthenticationPrincipal User user,
-            @RequestBody Map<String, String> request) {
+            @RequestBody Map<String, String> request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
             String driveLink = request.get("driveLink");
             if (driveLink == null || driveLink.trim().isEmpty()) {
@@ -58,23 +101,50 @@ public class SubmissionController {
                 return ResponseEntity.badRequest().body(error);
             }
 
-            SubmissionDTO submission = submissionService.uploadGoogleDriveLink(user, driveLink);
+            SubmissionDTO submission = submissionService.uploadGoogleDriveLink(user, driveLink, idempotencyKey);
             return ResponseEntity.ok(submission);
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
     }
 
+    /**
+     * Lists default to the summary view, which omits extractedText/sectionAnalysis and skips
+     * reading them from the database; ?view=full restores them, GET /{id} returns them by default
+     */
     @GetMapping
-    public ResponseEntity<List<SubmissionDTO>> getUserSubmissions(@AuthenticationPrincipal User user) {
-        List<SubmissionDTO> submissions = submissionService.getUserSubmissions(user);
-        return ResponseEntity.ok(submissions);
+    public ResponseEntity<?> getUserSubmissions(
+            @AuthenticationPrincipal User user,
+            @RequestParam(value = "view", defaultValue = "summary") String view) {
+        boolean summary;
+        try {
+            summary = SubmissionViews.isSummary(view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        List<SubmissionDTO> submissions = summary
+                ? submissionService.getUserSubmissionSummaries(user)
+                : submissionService.getUserSubmissions(user);
+        return ResponseEntity.ok(withView(submissions, summary));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<SubmissionDTO>> getAllSubmissions() {
+    public ResponseEntity<?> getAllSubmissions(
+            @RequestParam(value = "view", defaultValue = "summary") String view) {
+        boolean summary;
+        try {
+            summary = SubmissionViews.isSummary(view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
         try {
             // Get authentication from SecurityContext
             var authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -98,22 +168,123 @@ public class SubmissionController {
             }
 
             log.info("User is instructor, fetching all submissions");
-            List<SubmissionDTO> submissions = submissionService.getAllSubmissions();
+            List<SubmissionDTO> submissions = summary
+                    ? submissionService.getAllSubmissionSummaries()
+                    : submissionService.getAllSubmissions();
             log.info("Found {} submissions", submissions.size());
-            return ResponseEntity.ok(submissions);
+            return ResponseEntity.ok(withView(submissions, summary));
         } catch (Exception e) {
             log.error("Error in getAllSubmissions", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Server-sent event stream of submission status and analysis changes.
+     * Students receive events for their own submissions, instructors for all.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        boolean isInstructor = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"));
+
+        return ResponseEntity.ok(eventService.subscribe(authentication.getName(), isInstructor));
+    }
+
+    /**
+     * Full-text search over extracted text, file names and owner names
+     * Endpoint: GET /submissions/search?q=...&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchSubmissions(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (!isInstructor()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            SearchResultDTO result = searchService.search(query, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (IOException e) {
+            log.error("Search failed", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Search failed");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    /**
+     * Cross-submission analysis aggregates (missing sections, average criterion scores)
+     */
+    @GetMapping("/analysis/summary")
+    public ResponseEntity<?> getAnalysisSummary() {
+        if (!isInstructor()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(submissionService.getAnalysisSummary());
+    }
+
+    /**
+     * Summary rows of submissions missing a given IEEE 830 section, newest first
+     * Endpoint: GET /submissions/analysis/missing?section=Non-Functional Requirements&page=0&size=20
+     */
+    @GetMapping("/analysis/missing")
+    public ResponseEntity<?> getSubmissionsMissingSection(
+            @RequestParam("section") String section,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (!isInstructor()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(withView(submissionService.getSubmissionsMissingSection(section, page, size), true));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getSubmissionById(
             @AuthenticationPrincipal User user,
-            @PathVariable Long id) {
-        Optional<SubmissionDTO> submission = submissionService.getSubmissionById(user, id);
+            @PathVariable Long id,
+            @RequestParam(value = "view", defaultValue = "full") String view,
+            WebRequest webRequest) {
+        boolean summary;
+        try {
+            summary = SubmissionViews.isSummary(view);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        // Conditional GET: answer If-None-Match / If-Modified-Since from updatedAt alone
+        boolean instructor = isInstructor();
+        Optional<LocalDateTime> updatedAt = submissionService.getSubmissionUpdatedAt(user, id, instructor);
+        if (updatedAt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long lastModified = updatedAt.get().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "W/\"" + id + "-" + lastModified + (summary ? "-summary" : "") + "\"";
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        Optional<SubmissionDTO> submission = summary
+                ? submissionService.getSubmissionSummaryById(user, id, instructor)
+                : submissionService.getSubmissionById(user, id, instructor);
         if (submission.isPresent()) {
-            return ResponseEntity.ok(submission.get());
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(withView(submission.get(), summary));
         } else {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Submission not found");
@@ -121,6 +292,172 @@ public class SubmissionController {
         }
     }
 
+    /**
+     * Original uploaded document with Range, If-None-Match and If-Modified-Since support.
+     * Local files are handed to Tomcat's sendfile (FileChannel.transferTo, no heap copy) when
+     * the connector supports it; otherwise Spring streams the Resource or its byte ranges.
+     * Endpoint: GET /submissions/{id}/file
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> downloadFile(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            HttpServletRequest request,
+            WebRequest webRequest) throws IOException {
+        Optional<SubmissionFile> found = submissionService.getSubmissionFile(user, id, isInstructor());
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SubmissionFile file = found.get();
+
+        // Stored files never change after upload, so If-Range always matches and the hash is a strong ETag
+        long lastModified = file.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "\"" + (file.getContentHash() != null ? file.getContentHash() : id + "-" + lastModified) + "\"";
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setLastModified(lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(mediaType(file.getFileType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(file.getFileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+        Resource resource = file.getResource();
+        if (resource.isFile() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            ResponseEntity<?> sendfile = sendfile(resource.getFile().toPath(), request, headers);
+            if (sendfile != null) {
+                return sendfile;
+            }
+        }
+        return ResponseEntity.ok().headers(headers).body(resource);
+    }
+
+    /**
+     * PNG render of one PDF page, rendered off the request thread and cached on disk
+     * Endpoint: GET /submissions/{id}/pages/{page}/preview?dpi=72
+     */
+    @GetMapping("/{id}/pages/{page}/preview")
+    public CompletableFuture<ResponseEntity<?>> getPagePreview(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @PathVariable int page,
+            @RequestParam(value = "dpi", defaultValue = "72") int dpi,
+            WebRequest webRequest) throws IOException {
+        Optional<SubmissionFile> found = submissionService.getSubmissionFile(user, id, isInstructor());
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        SubmissionFile file = found.get();
+        try {
+            // Before the conditional check, so an invalid page or DPI is never answered with 304
+            pagePreviewService.validate(file, page, dpi);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(badRequest(e.getMessage()));
+        }
+
+        String etag = "\"" + pagePreviewService.cacheKey(file, page, dpi) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        }
+
+        CompletableFuture<InputStream> preview;
+        try {
+            preview = pagePreviewService.openPreview(file, page, dpi);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(badRequest(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Preview renderer is busy, please try again shortly");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "2")
+                    .body(error));
+        }
+
+        return preview.<ResponseEntity<?>>thenApply(in -> ResponseEntity.ok()
+                        .contentType(MediaType.IMAGE_PNG)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePrivate())
+                        .body(new InputStreamResource(in)))
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IllegalArgumentException) {
+                        Map<String, String> error = new HashMap<>();
+                        error.put("message", cause.getMessage());
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+                    }
+                    if (cause instanceof RejectedExecutionException) {
+                        Map<String, String> error = new HashMap<>();
+                        error.put("message", "Preview renderer is busy, please try again shortly");
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "2")
+                                .body(error);
+                    }
+                    log.error("Failed to render page {} of submission {}", page, id, cause);
+                    Map<String, String> error = new HashMap<>();
+                    error.put("message", "Failed to render preview");
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+                });
+    }
+
+    /**
+     * Near-duplicate submissions by MinHash/LSH similarity of extracted text
+     * Endpoint: GET /submissions/{id}/similar?threshold=0.5&limit=10
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarSubmissions(
+            @PathVariable Long id,
+            @RequestParam(value = "threshold", defaultValue = "0.5") double threshold,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (!isInstructor()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (threshold < 0 || threshold > 1 || limit < 1 || limit > 100) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "threshold must be between 0 and 1 and limit between 1 and 100");
+            return ResponseEntity.badRequest().body(error);
+        }
+        try {
+            return ResponseEntity.ok(similarityService.findSimilar(id, threshold, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+    /**
+     * Queue a fresh analysis of the caller's own submission as a resubmission, so it does not jump
+     * ahead of other students. Instructors re-analyze through POST /api/instructor/jobs/reanalyze/{id}.
+     * Progress is pushed on /submissions/events as ANALYSIS_STARTED, ANALYSIS_DELTA while the
+     * summary is generated, then ANALYSIS_COMPLETED once the result is stored.
+     * Endpoint: POST /submissions/{id}/analysis
+     */
+    @PostMapping("/{id}/analysis")
+    public ResponseEntity<?> requestAnalysis(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id) {
+        if (submissionService.getSubmissionSummaryById(user, id, false).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            AnalysisJob job = jobService.reanalyze(id, AnalysisJob.PriorityClass.RESUBMISSION);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteSubmission(
             @AuthenticationPrincipal User user,
@@ -138,6 +475,27 @@ public class SubmissionController {
         }
     }
 
+    /**
+     * Review many submissions in one request; every item gets its own outcome, so a conflict
+     * on one submission does not fail the rest
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<?> updateSubmissionStatuses(@RequestBody BulkStatusUpdateRequest request) {
+        if (!isInstructor()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            return ResponseEntity.ok(reviewService.updateStatuses(request));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error updating submission statuses", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to update submission statuses");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateSubmissionStatus(
             @PathVariable Long id,
@@ -167,12 +525,20 @@ public class SubmissionController {
                 return ResponseEntity.badRequest().body(error);
             }
 
-            SubmissionDTO updatedSubmission = submissionService.updateSubmissionStatus(id, status);
-            return ResponseEntity.ok(updatedSubmission);
+            // Optional: the version the reviewer saw, so a concurrent change is not overwritten
+            String version = request.get("version");
+            Long expectedVersion = version != null && !version.isBlank() ? Long.valueOf(version.trim()) : null;
+
+            SubmissionDTO updatedSubmission = submissionService.updateSubmissionStatus(id, status, expectedVersion);
+            return ResponseEntity.ok(withView(updatedSubmission, true));
         } catch (IllegalArgumentException e) {
             Map<String, String> error = new HashMap<>();
-            error.put("message", e.getMessage());
+            error.put("message", e instanceof NumberFormatException ? "Invalid version" : e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (Exception e) {
             log.error("Error updating submission status", e);
             Map<String, String> error = new HashMap<>();
@@ -180,4 +546,70 @@ public class SubmissionController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    /**
+     * Whole file or a single byte range via Tomcat sendfile; null for multi-range requests,
+     * which are left to Spring's multipart/byteranges handling
+     */
+    private ResponseEntity<?> sendfile(Path path, HttpServletRequest request, HttpHeaders headers) throws IOException {
+        long length = Files.size(path);
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return null;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+        request.setAttribute("org.apache.tomcat.sendfile.start", start);
+        request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+        headers.setContentLength(end - start + 1);
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+
+    private MediaType mediaType(String fileType) {
+        if ("pdf".equalsIgnoreCase(fileType)) {
+            return MediaType.APPLICATION_PDF;
+        }
+        if ("docx".equalsIgnoreCase(fileType)) {
+            return MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private MappingJacksonValue withView(Object body, boolean summary) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(summary ? SubmissionViews.Summary.class : SubmissionViews.Full.class);
+        return value;
+    }
+
+    private ResponseEntity<Map<String, String>> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private boolean isInstructor() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                        .anyMatch(a -> a.getAuthority().equals("ROLE_INSTRUCTOR"));
+    }
 }
\ No newline at end of file
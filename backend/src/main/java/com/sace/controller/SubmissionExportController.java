@@ -0,0 +1,65 @@
+package com.sace.controller;
+
+import com.sace.service.SubmissionExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk export of all submissions (grade sheets).
+ * Access is restricted to INSTRUCTOR by the /api/instructor/** rule in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/api/instructor/submissions")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+public class SubmissionExportController {
+
+    private final SubmissionExportService exportService;
+
+    /**
+     * Endpoint: GET /api/instructor/submissions/export?format=csv|ndjson&includeAnalysis=true
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> export(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "includeAnalysis", defaultValue = "false") boolean includeAnalysis) {
+        SubmissionExportService.Format exportFormat;
+        try {
+            exportFormat = SubmissionExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "format must be csv or ndjson");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        boolean csv = exportFormat == SubmissionExportService.Format.CSV;
+        StreamingResponseBody body = out -> {
+            long start = System.currentTimeMillis();
+            long rows = exportService.export(out, exportFormat, includeAnalysis);
+            log.info("Exported {} submissions as {} in {} ms", rows, exportFormat, System.currentTimeMillis() - start);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("submissions-" + LocalDate.now() + (csv ? ".csv" : ".ndjson"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -3,6 +3,7 @@ package com.sace.controller;
 import com.sace.dto.UserDTO;
 import com.sace.entity.User;
 import com.sace.security.JwtTokenProvider;
+import com.sace.service.PasswordHashingService;
 import com.sace.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +12,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -31,7 +32,7 @@ public class UserController {
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     /**
      * Get current authenticated user's profile
@@ -134,8 +135,8 @@ public class UserController {
             // Get email from JWT
             String email = tokenProvider.getEmailFromJwt(token);
             
-            // Fetch user from database
-            Optional<User> userOptional = userService.findByEmail(email);
+            // Fetch the current row, not a cached copy, since it is modified and saved
+            Optional<User> userOptional = userService.findByEmailUncached(email);
             
             if (userOptional.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
@@ -154,7 +155,7 @@ public class UserController {
             }
             if (updateRequest.getEmail() != null && !updateRequest.getEmail().equals(user.getEmail())) {
                 // Check if new email already exists
-                if (userService.findByEmail(updateRequest.getEmail()).isPresent()) {
+                if (userService.findByEmailUncached(updateRequest.getEmail()).isPresent()) {
                     Map<String, String> error = new HashMap<>();
                     error.put("message", "Email already in use");
                     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
@@ -162,7 +163,7 @@ public class UserController {
                 user.setEmail(updateRequest.getEmail());
             }
             if (updateRequest.getPassword() != null && !updateRequest.getPassword().trim().isEmpty()) {
-                user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
+                user.setPassword(passwordHashingService.encode(updateRequest.getPassword()));
             }
             
             // Save updated user
@@ -182,6 +183,10 @@ public class UserController {
             log.info("Updated profile for user: {}", email);
             return ResponseEntity.ok(userDTO);
             
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             log.error("Error updating current user", e);
             Map<String, String> error = new HashMap<>();
@@ -206,8 +211,8 @@ public class UserController {
             // Get email from JWT
             String email = tokenProvider.getEmailFromJwt(token);
 
-            // Fetch user from database
-            Optional<User> userOptional = userService.findByEmail(email);
+            // Fetch the current row, not a cached copy, since it is modified and saved
+            Optional<User> userOptional = userService.findByEmailUncached(email);
 
             if (userOptional.isEmpty()) {
                 Map<String, String> error = new HashMap<>();
@@ -240,14 +245,14 @@ public class UserController {
             }
 
             // Verify current password
-            if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Current password is incorrect");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
             }
 
             // Update password
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHashingService.encode(newPassword));
             userService.saveUser(user);
 
             Map<String, String> response = new HashMap<>();
@@ -255,6 +260,10 @@ public class UserController {
             log.info("Changed password for user: {}", email);
             return ResponseEntity.ok(response);
 
+        } catch (RejectedExecutionException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             log.error("Error changing password", e);
             Map<String, String> error = new HashMap<>();
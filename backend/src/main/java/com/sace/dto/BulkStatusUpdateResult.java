@@ -0,0 +1,44 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        CONFLICT,
+        NOT_FOUND,
+        INVALID
+    }
+
+    private int requested;
+    private Map<Outcome, Integer> outcomes;
+    private List<ItemResult> items;
+
+    /**
+     * Outcome for one requested item, in request order; status and version are the
+     * submission's current values when it exists
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private Long id;
+        private Outcome outcome;
+        private String status;
+        private Long version;
+        private String message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of the local pre-check that decides whether and how to call Gemini
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PreAnalysisResult {
+
+    public enum Decision {
+        SKIP,   // no LLM call; local section detection only
+        LITE,   // smaller/faster model variant
+        FULL    // configured model
+    }
+
+    private Decision decision;
+    private String reason;
+    private int characters; // non-whitespace characters
+    private int words;
+    private int pages;      // -1 when the format has no page count (DOCX) or it is unknown
+    private double sectionCoverage; // fraction of IEEE 830 sections found by the local detector
+    private double englishRatio;    // share of words that are common English function words
+}
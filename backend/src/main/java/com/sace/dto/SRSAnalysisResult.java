@@ -0,0 +1,36 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured SRS analysis as returned by Gemini in JSON mode
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SRSAnalysisResult {
+    private Integer qualityScore; // 1-10
+    @Builder.Default
+    private List<CriterionScore> criteria = new ArrayList<>();
+    @Builder.Default
+    private List<String> presentSections = new ArrayList<>();
+    @Builder.Default
+    private List<String> missingSections = new ArrayList<>();
+    private String summary; // Markdown analysis shown to users
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CriterionScore {
+        private String name;
+        private Integer score; // 1-10
+        private String comment;
+    }
+}
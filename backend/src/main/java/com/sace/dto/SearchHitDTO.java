@@ -0,0 +1,18 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitDTO {
+    private Long submissionId;
+    private String fileName;
+    private String ownerName;
+    private float score;
+    private String highlight; // Best matching passages with <b>..</b> around hits
+}
@@ -0,0 +1,21 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDTO {
+    private String query;
+    private int page;
+    private int size;
+    private long totalHits;
+    private long tookMs;
+    private List<SearchHitDTO> hits;
+}
@@ -0,0 +1,20 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarSubmissionDTO {
+    private Long submissionId;
+    private String fileName;
+    private String ownerName;
+    private double similarity; // Estimated Jaccard similarity of word shingles, 0-1
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,7 @@
 package com.sace.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import com.sace.entity.Submission;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,14 +13,42 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class SubmissionDTO {
 
+    @JsonView(SubmissionViews.Summary.class)
     private Long id;
+    @JsonView(SubmissionViews.Summary.class)
     private String fileName;
+    @JsonView(SubmissionViews.Summary.class)
     private String fileType;
+    @JsonView(SubmissionViews.Summary.class)
     private Long fileSize;
+    @JsonView(SubmissionViews.Summary.class)
     private String status;
+    @JsonView(SubmissionViews.Summary.class)
     private String googleDriveLink;
+    @JsonView(SubmissionViews.Summary.class)
     private LocalDateTime createdAt;
+    @JsonView(SubmissionViews.Summary.class)
     private LocalDateTime updatedAt;
+    @JsonView(SubmissionViews.Full.class)
     private String extractedText;
+    @JsonView(SubmissionViews.Full.class)
     private String sectionAnalysis;
+    @JsonView(SubmissionViews.Summary.class)
+    private Integer qualityScore;
+    @JsonView(SubmissionViews.Summary.class)
+    private String analysisStatus;
+    @JsonView(SubmissionViews.Summary.class)
+    private Long version;
+
+    /**
+     * Summary projection used by JPQL constructor expressions; never touches the TEXT columns
+     */
+    public SubmissionDTO(Long id, String fileName, String fileType, Long fileSize,
+                         Submission.SubmissionStatus status, String googleDriveLink,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, Integer qualityScore,
+                         Submission.AnalysisStatus analysisStatus, Long version) {
+        this(id, fileName, fileType, fileSize, status.name(), googleDriveLink,
+                createdAt, updatedAt, null, null, qualityScore,
+                analysisStatus != null ? analysisStatus.name() : null, version);
+    }
 }
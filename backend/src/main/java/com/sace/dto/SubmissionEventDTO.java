@@ -0,0 +1,26 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight submission change notification pushed over SSE.
+ * Never carries extracted text or the stored analysis; clients fetch those on demand.
+ * ANALYSIS_DELTA events carry the next fragment of the summary being generated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubmissionEventDTO {
+    private String type; // CREATED, STATUS_CHANGED, ANALYSIS_STARTED, ANALYSIS_DELTA, ANALYSIS_COMPLETED, DELETED
+    private Long submissionId;
+    private String status;
+    private String fileName;
+    private LocalDateTime timestamp;
+    private String delta;
+}
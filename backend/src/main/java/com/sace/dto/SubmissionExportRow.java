@@ -0,0 +1,31 @@
+package com.sace.dto;
+
+import com.sace.entity.Submission;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the instructor export; a constructor projection, so exports never load
+ * Submission entities or their extracted text
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionExportRow {
+
+    private Long id;
+    private String studentFirstName;
+    private String studentLastName;
+    private String studentEmail;
+    private String fileName;
+    private String fileType;
+    private Long fileSize;
+    private Submission.SubmissionStatus status;
+    private Submission.AnalysisStatus analysisStatus;
+    private Integer qualityScore;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
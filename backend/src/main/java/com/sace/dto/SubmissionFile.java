@@ -0,0 +1,26 @@
+package com.sace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored original document of a submission, ready to be streamed to the client
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubmissionFile {
+
+    private Long submissionId;
+    private String fileName;
+    private String fileType;
+    private String contentHash;     // SHA-256 of the stored bytes; null for rows created before hashing
+    private LocalDateTime createdAt;
+    private Resource resource;
+}
@@ -0,0 +1,22 @@
+package com.sace.dto;
+
+import com.sace.entity.Submission;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Just enough of a submission to review it in bulk; a constructor projection, so the
+ * document text is never loaded
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionStatusRow {
+
+    private Long id;
+    private Submission.SubmissionStatus status;
+    private Long version;
+    private String fileName;
+    private String ownerEmail;
+}
@@ -0,0 +1,27 @@
+package com.sace.dto;
+
+/**
+ * Jackson views for SubmissionDTO, selected with ?view=summary|full.
+ * Summary omits the large extractedText and sectionAnalysis fields.
+ */
+public final class SubmissionViews {
+
+    public interface Summary {
+    }
+
+    public interface Full extends Summary {
+    }
+
+    private SubmissionViews() {
+    }
+
+    public static boolean isSummary(String view) {
+        if (view == null || view.equalsIgnoreCase("full")) {
+            return false;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid view: " + view + ". Valid views are: summary, full");
+    }
+}
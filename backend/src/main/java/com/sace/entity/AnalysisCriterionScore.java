@@ -0,0 +1,39 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "analysis_criterion_scores", indexes = {
+    @Index(name = "idx_criterion_scores_submission", columnList = "submission_id"),
+    @Index(name = "idx_criterion_scores_criterion", columnList = "criterion, score")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCriterionScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "submission_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Submission submission;
+
+    @Column(name = "criterion", nullable = false)
+    private String criterion;
+
+    @Column(name = "score", nullable = false)
+    private Integer score;
+
+    @Column(name = "comment", columnDefinition = "TEXT")
+    private String comment;
+}
@@ -0,0 +1,106 @@
+package com.sace.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable extraction + analysis work item. Workers on any node claim due rows with
+ * SELECT ... FOR UPDATE SKIP LOCKED and hold a time-limited lease while processing;
+ * an expired lease (crashed node) makes the job claimable again. Due jobs are claimed in
+ * deadline order; AnalysisJobScheduler assigns deadlines per priority class and owner.
+ */
+@Entity
+@Table(name = "analysis_jobs", indexes = {
+    @Index(name = "idx_analysis_jobs_status_next_run", columnList = "status, next_run_at"),
+    @Index(name = "idx_analysis_jobs_submission", columnList = "submission_id"),
+    @Index(name = "idx_analysis_jobs_user_status", columnList = "user_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    @Column(name = "user_id")
+    private Long userId; // submission owner, for per-user fair ordering; null on jobs queued before scheduling classes
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority_class")
+    private PriorityClass priorityClass;
+
+    @Column(name = "enqueued_at")
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "deadline")
+    private LocalDateTime deadline; // claim order among due jobs; falls back to next_run_at when null
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Fencing token, new on every claim: only the worker holding the current claim can finish the job
+    @JsonIgnore
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AnalysisJob(Long submissionId, Long userId, PriorityClass priorityClass, LocalDateTime deadline) {
+        this.submissionId = submissionId;
+        this.userId = userId;
+        this.status = JobStatus.PENDING;
+        this.priorityClass = priorityClass;
+        this.attempts = 0;
+        this.enqueuedAt = LocalDateTime.now();
+        this.nextRunAt = this.enqueuedAt;
+        this.deadline = deadline;
+    }
+
+    public enum JobStatus {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        DEAD
+    }
+
+    public enum PriorityClass {
+        INSTRUCTOR,         // instructor-triggered re-analysis or retry
+        FIRST_SUBMISSION,   // the owner's first upload
+        RESUBMISSION,
+        BACKFILL            // re-analysis after a prompt upgrade; yields to everything else
+    }
+}
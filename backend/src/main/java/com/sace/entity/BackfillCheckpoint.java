@@ -0,0 +1,45 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a re-analysis backfill, one row per target prompt version. Nodes advance
+ * last_submission_id with a compare-and-set UPDATE, so each batch is queued exactly once
+ * and a restart resumes where the previous pass stopped.
+ */
+@Entity
+@Table(name = "backfill_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillCheckpoint {
+
+    @Id
+    @Column(name = "prompt_version", length = 32)
+    private String promptVersion;
+
+    @Column(name = "last_submission_id", nullable = false)
+    private Long lastSubmissionId;
+
+    @Column(name = "queued_count", nullable = false)
+    private Long queuedCount;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BackfillCheckpoint(String promptVersion) {
+        this.promptVersion = promptVersion;
+        this.lastSubmissionId = 0L;
+        this.queuedCount = 0L;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Submission event written by the node that produced it, so other nodes can forward it
+ * to their own SSE subscribers and refresh their local search/similarity indexes.
+ * Short-lived: rows are purged after app.cluster.event-retention-minutes.
+ */
+@Entity
+@Table(name = "cluster_events", indexes = {
+    @Index(name = "idx_cluster_events_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "owner_email")
+    private String ownerEmail;
+
+    @Column(name = "origin_node", nullable = false)
+    private String originNode;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
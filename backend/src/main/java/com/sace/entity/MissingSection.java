@@ -0,0 +1,33 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "submission_missing_sections", indexes = {
+    @Index(name = "idx_missing_sections_section", columnList = "section_name"),
+    @Index(name = "idx_missing_sections_submission", columnList = "submission_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissingSection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "submission_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Submission submission;
+
+    @Column(name = "section_name", nullable = false)
+    private String sectionName; // One of GeminiService.IEEE_830_SECTIONS
+}
@@ -0,0 +1,24 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Precomputed number of submissions whose latest analysis reports a section as missing
+ */
+@Entity
+@Table(name = "missing_section_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissingSectionCount {
+
+    @Id
+    @Column(name = "section_name", nullable = false)
+    private String sectionName;
+
+    @Column(name = "submission_count", nullable = false)
+    private Long submissionCount;
+}
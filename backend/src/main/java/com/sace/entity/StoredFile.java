@@ -0,0 +1,35 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uploaded document bytes, used when app.storage.type=database so every node
+ * can read every upload without a shared filesystem
+ */
+@Entity
+@Table(name = "stored_files")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile {
+
+    @Id
+    @Column(name = "storage_key")
+    private String storageKey;
+
+    @Column(name = "content", nullable = false, length = 10 * 1024 * 1024)
+    private byte[] content; // bounded by the 10MB upload limit
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
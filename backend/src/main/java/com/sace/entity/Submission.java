@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+    @Index(name = "idx_submissions_quality_score", columnList = "quality_score"),
+    @Index(name = "idx_submissions_user_content_hash", columnList = "user_id, content_hash"),
+    @Index(name = "idx_submissions_user_drive_file", columnList = "user_id, drive_file_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -43,11 +48,30 @@ public class Submission {
     @Column(name = "google_drive_link")
     private String googleDriveLink;
 
+    @Column(name = "drive_file_id")
+    private String driveFileId;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the uploaded or downloaded bytes, used to skip duplicate retries
+
     @Column(name = "extracted_text", columnDefinition = "TEXT")
     private String extractedText;
 
+    @Column(name = "page_count")
+    private Integer pageCount; // from the extractor, stored with the text for the pre-check; null when unknown
+
     @Column(name = "section_analysis", columnDefinition = "TEXT")
-    private String sectionAnalysis; // JSON string for section detection results
+    private String sectionAnalysis; // Markdown analysis, or JSON string for fallback section detection
+
+    @Column(name = "quality_score")
+    private Integer qualityScore; // 1-10 from structured analysis; per-criterion scores and missing sections live in child tables
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "analysis_status")
+    private AnalysisStatus analysisStatus; // null for rows analyzed synchronously before the job queue existed
+
+    @Column(name = "prompt_version", length = 32)
+    private String promptVersion; // structured prompt behind the current analysis; null when no model ran
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -57,10 +81,21 @@ public class Submission {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version; // bumped by every status change so reviews can detect concurrent edits
+
     public enum SubmissionStatus {
         SUBMITTED,
         UNDER_REVIEW,
         APPROVED,
         REJECTED
     }
+
+    public enum AnalysisStatus {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
 }
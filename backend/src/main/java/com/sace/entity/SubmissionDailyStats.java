@@ -0,0 +1,45 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day ingest totals; averages are derived as total / count at read time
+ */
+@Entity
+@Table(name = "submission_daily_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionDailyStats {
+
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "submission_count", nullable = false)
+    private Long submissionCount = 0L;
+
+    @Column(name = "total_file_size", nullable = false)
+    private Long totalFileSize = 0L;
+
+    @Column(name = "extraction_count", nullable = false)
+    private Long extractionCount = 0L;
+
+    @Column(name = "total_extraction_ms", nullable = false)
+    private Long totalExtractionMs = 0L;
+
+    @Column(name = "analysis_count", nullable = false)
+    private Long analysisCount = 0L;
+
+    @Column(name = "total_analysis_ms", nullable = false)
+    private Long totalAnalysisMs = 0L;
+
+    public SubmissionDailyStats(LocalDate day) {
+        this.day = day;
+    }
+}
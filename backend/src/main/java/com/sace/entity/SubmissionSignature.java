@@ -0,0 +1,28 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MinHash signature of a submission's extracted text, persisted so the LSH index
+ * can be rebuilt on startup without re-shingling every document
+ */
+@Entity
+@Table(name = "submission_signatures")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionSignature {
+
+    @Id
+    @Column(name = "submission_id")
+    private Long submissionId;
+
+    @Column(name = "signature", nullable = false, length = 1024)
+    private byte[] signature; // MinHashSignatures.NUM_HASHES big-endian ints
+
+    @Column(name = "shingle_count", nullable = false)
+    private Integer shingleCount;
+}
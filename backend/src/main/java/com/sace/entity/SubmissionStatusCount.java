@@ -0,0 +1,25 @@
+package com.sace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Precomputed number of submissions currently in each status
+ */
+@Entity
+@Table(name = "submission_status_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Submission.SubmissionStatus status;
+
+    @Column(name = "submission_count", nullable = false)
+    private Long submissionCount;
+}
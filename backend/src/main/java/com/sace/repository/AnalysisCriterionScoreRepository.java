@@ -0,0 +1,28 @@
+package com.sace.repository;
+
+import com.sace.entity.AnalysisCriterionScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnalysisCriterionScoreRepository extends JpaRepository<AnalysisCriterionScore, Long> {
+
+    List<AnalysisCriterionScore> findBySubmissionId(Long submissionId);
+
+    List<AnalysisCriterionScore> findBySubmissionIdIn(Collection<Long> submissionIds);
+
+    @Query("SELECT c.criterion, AVG(c.score), COUNT(c) FROM AnalysisCriterionScore c GROUP BY c.criterion ORDER BY c.criterion")
+    List<Object[]> averageScoreByCriterion();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalysisCriterionScore c WHERE c.submission.id = :submissionId")
+    int deleteBySubmissionId(@Param("submissionId") Long submissionId);
+}
@@ -0,0 +1,141 @@
+package com.sace.repository;
+
+import com.sace.entity.AnalysisJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+
+    /**
+     * Due jobs plus RUNNING jobs whose lease has expired, earliest deadline first, locked
+     * FOR UPDATE SKIP LOCKED (lock timeout -2) so concurrent pollers on other nodes never
+     * claim the same row. Must be called inside a transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT j FROM AnalysisJob j
+            WHERE (j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING AND j.nextRunAt <= :now)
+               OR (j.status = com.sace.entity.AnalysisJob.JobStatus.RUNNING AND j.leaseExpiresAt < :now)
+            ORDER BY COALESCE(j.deadline, j.nextRunAt), j.id
+            """)
+    List<AnalysisJob> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Latest deadline among the owner's queued submission jobs, where the next one goes after
+     */
+    @Query("""
+            SELECT MAX(j.deadline) FROM AnalysisJob j
+            WHERE j.userId = :userId AND j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING
+            AND j.priorityClass IN (com.sace.entity.AnalysisJob.PriorityClass.FIRST_SUBMISSION,
+                com.sace.entity.AnalysisJob.PriorityClass.RESUBMISSION)
+            """)
+    Optional<LocalDateTime> findLatestQueuedDeadline(@Param("userId") Long userId);
+
+    /**
+     * Due queued jobs other than backfill, i.e. work somebody is waiting for
+     */
+    @Query("""
+            SELECT COUNT(j) FROM AnalysisJob j
+            WHERE j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING AND j.nextRunAt <= :now
+            AND (j.priorityClass IS NULL OR j.priorityClass <> com.sace.entity.AnalysisJob.PriorityClass.BACKFILL)
+            """)
+    long countDueForeground(@Param("now") LocalDateTime now);
+
+    long countByStatusInAndPriorityClass(Collection<AnalysisJob.JobStatus> statuses, AnalysisJob.PriorityClass priorityClass);
+
+    boolean existsBySubmissionIdAndStatusIn(Long submissionId, Collection<AnalysisJob.JobStatus> statuses);
+
+    Optional<AnalysisJob> findFirstBySubmissionIdAndStatusIn(Long submissionId, Collection<AnalysisJob.JobStatus> statuses);
+
+    List<AnalysisJob> findByStatusOrderByUpdatedAtDesc(AnalysisJob.JobStatus status, Pageable pageable);
+
+    long countByStatus(AnalysisJob.JobStatus status);
+
+    // Lease-guarded transitions: a worker whose lease was taken over, even by another thread on the
+    // same node, no longer holds the claim's token and cannot overwrite the new claim's state
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j SET j.status = com.sace.entity.AnalysisJob.JobStatus.SUCCEEDED,
+            j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.leaseToken = NULL, j.lastError = NULL,
+            j.updatedAt = CURRENT_TIMESTAMP
+            WHERE j.id = :id AND j.leaseToken = :token
+            """)
+    int markSucceeded(@Param("id") Long id, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j SET j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING,
+            j.nextRunAt = :nextRunAt, j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.leaseToken = NULL,
+            j.lastError = :error, j.updatedAt = CURRENT_TIMESTAMP
+            WHERE j.id = :id AND j.leaseToken = :token
+            """)
+    int reschedule(@Param("id") Long id, @Param("token") String token,
+            @Param("nextRunAt") LocalDateTime nextRunAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j SET j.status = com.sace.entity.AnalysisJob.JobStatus.DEAD,
+            j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.leaseToken = NULL, j.lastError = :error,
+            j.updatedAt = CURRENT_TIMESTAMP
+            WHERE j.id = :id AND j.leaseToken = :token
+            """)
+    int markDead(@Param("id") Long id, @Param("token") String token, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j SET j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING,
+            j.priorityClass = :priorityClass, j.deadline = :deadline, j.attempts = 0,
+            j.enqueuedAt = CURRENT_TIMESTAMP, j.nextRunAt = CURRENT_TIMESTAMP, j.updatedAt = CURRENT_TIMESTAMP
+            WHERE j.id = :id AND j.status = com.sace.entity.AnalysisJob.JobStatus.DEAD
+            """)
+    int requeueDead(@Param("id") Long id, @Param("priorityClass") AnalysisJob.PriorityClass priorityClass,
+            @Param("deadline") LocalDateTime deadline);
+
+    /**
+     * Move a queued job to another class and deadline, and make it due now; its queue wait
+     * is counted against the new class from here on
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j SET j.priorityClass = :priorityClass, j.deadline = :deadline,
+            j.enqueuedAt = CURRENT_TIMESTAMP, j.nextRunAt = CURRENT_TIMESTAMP, j.updatedAt = CURRENT_TIMESTAMP
+            WHERE j.id = :id AND j.status = com.sace.entity.AnalysisJob.JobStatus.PENDING
+            """)
+    int promote(@Param("id") Long id, @Param("priorityClass") AnalysisJob.PriorityClass priorityClass,
+            @Param("deadline") LocalDateTime deadline);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM AnalysisJob j
+            WHERE j.status = com.sace.entity.AnalysisJob.JobStatus.SUCCEEDED AND j.updatedAt < :cutoff
+            """)
+    int deleteSucceededBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AnalysisJob j WHERE j.submissionId = :submissionId")
+    int deleteBySubmissionId(@Param("submissionId") Long submissionId);
+}
@@ -0,0 +1,34 @@
+package com.sace.repository;
+
+import com.sace.entity.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+
+    /**
+     * Move the checkpoint from expectedLastId to lastId; 0 when another node moved it first
+     */
+    @Modifying
+    @Query("""
+            UPDATE BackfillCheckpoint c SET c.lastSubmissionId = :lastId, c.queuedCount = c.queuedCount + :queued,
+            c.updatedAt = CURRENT_TIMESTAMP
+            WHERE c.promptVersion = :promptVersion AND c.lastSubmissionId = :expectedLastId AND c.completedAt IS NULL
+            """)
+    int advance(@Param("promptVersion") String promptVersion, @Param("expectedLastId") Long expectedLastId,
+            @Param("lastId") Long lastId, @Param("queued") long queued);
+
+    @Modifying
+    @Query("""
+            UPDATE BackfillCheckpoint c SET c.completedAt = :completedAt, c.updatedAt = CURRENT_TIMESTAMP
+            WHERE c.promptVersion = :promptVersion AND c.lastSubmissionId = :expectedLastId AND c.completedAt IS NULL
+            """)
+    int complete(@Param("promptVersion") String promptVersion, @Param("expectedLastId") Long expectedLastId,
+            @Param("completedAt") LocalDateTime completedAt);
+}
@@ -0,0 +1,29 @@
+package com.sace.repository;
+
+import com.sace.entity.ClusterEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClusterEventRepository extends JpaRepository<ClusterEvent, Long> {
+
+    @Query("SELECT e FROM ClusterEvent e WHERE e.id > :afterId AND e.originNode <> :node ORDER BY e.id")
+    List<ClusterEvent> findFromOtherNodesAfter(@Param("afterId") Long afterId, @Param("node") String node,
+            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ClusterEvent e")
+    Long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ClusterEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
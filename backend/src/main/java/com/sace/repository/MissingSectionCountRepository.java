@@ -0,0 +1,27 @@
+package com.sace.repository;
+
+import com.sace.entity.MissingSectionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MissingSectionCountRepository extends JpaRepository<MissingSectionCount, String> {
+
+    @Modifying
+    @Query("UPDATE MissingSectionCount c SET c.submissionCount = c.submissionCount + :delta WHERE c.sectionName = :sectionName")
+    int increment(@Param("sectionName") String sectionName, @Param("delta") long delta);
+
+    /**
+     * Reset every count to the number of submissions currently missing that section
+     */
+    @Modifying
+    @Query("UPDATE MissingSectionCount c SET c.submissionCount = (SELECT COUNT(m) FROM MissingSection m WHERE m.sectionName = c.sectionName)")
+    int recount();
+
+    List<MissingSectionCount> findAllByOrderBySubmissionCountDesc();
+}
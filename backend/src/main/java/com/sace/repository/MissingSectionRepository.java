@@ -0,0 +1,28 @@
+package com.sace.repository;
+
+import com.sace.entity.MissingSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MissingSectionRepository extends JpaRepository<MissingSection, Long> {
+
+    List<MissingSection> findBySubmissionId(Long submissionId);
+
+    List<MissingSection> findBySubmissionIdIn(Collection<Long> submissionIds);
+
+    @Query("SELECT m.sectionName, COUNT(m) FROM MissingSection m GROUP BY m.sectionName ORDER BY COUNT(m) DESC")
+    List<Object[]> countBySection();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MissingSection m WHERE m.submission.id = :submissionId")
+    int deleteBySubmissionId(@Param("submissionId") Long submissionId);
+}
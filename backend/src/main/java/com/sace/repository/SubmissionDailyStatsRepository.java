@@ -0,0 +1,36 @@
+package com.sace.repository;
+
+import com.sace.entity.SubmissionDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SubmissionDailyStatsRepository extends JpaRepository<SubmissionDailyStats, LocalDate> {
+
+    @Modifying
+    @Query("""
+            UPDATE SubmissionDailyStats d SET
+                d.submissionCount = d.submissionCount + :submissions,
+                d.totalFileSize = d.totalFileSize + :fileSize,
+                d.extractionCount = d.extractionCount + :extractions,
+                d.totalExtractionMs = d.totalExtractionMs + :extractionMs,
+                d.analysisCount = d.analysisCount + :analyses,
+                d.totalAnalysisMs = d.totalAnalysisMs + :analysisMs
+            WHERE d.day = :day
+            """)
+    int increment(@Param("day") LocalDate day,
+                  @Param("submissions") long submissions,
+                  @Param("fileSize") long fileSize,
+                  @Param("extractions") long extractions,
+                  @Param("extractionMs") long extractionMs,
+                  @Param("analyses") long analyses,
+                  @Param("analysisMs") long analysisMs);
+
+    List<SubmissionDailyStats> findByDayGreaterThanEqualOrderByDayAsc(LocalDate from);
+}
@@ -1,12 +1,26 @@
 package com.sace.repository;
 
+import com.sace.dto.SubmissionDTO;
+import com.sace.dto.SubmissionExportRow;
+import com.sace.dto.SubmissionStatusRow;
 import com.sace.entity.Submission;
 import com.sace.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
@@ -15,5 +29,168 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
     Optional<Submission> findByUserAndId(User user, Long id);
 
+    String SUMMARY_PROJECTION = "SELECT new com.sace.dto.SubmissionDTO(s.id, s.fileName, s.fileType, s.fileSize, "
+            + "s.status, s.googleDriveLink, s.createdAt, s.updatedAt, s.qualityScore, s.analysisStatus, s.version) FROM Submission s ";
+
+    @Query(SUMMARY_PROJECTION + "WHERE s.user = :user")
+    List<SubmissionDTO> findSummariesByUser(@Param("user") User user);
+
+    @Query(SUMMARY_PROJECTION)
+    List<SubmissionDTO> findAllSummaries();
+
+    @Query(SUMMARY_PROJECTION + "WHERE s.id = :id")
+    Optional<SubmissionDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_PROJECTION + "WHERE s.user = :user AND s.id = :id")
+    Optional<SubmissionDTO> findSummaryByUserAndId(@Param("user") User user, @Param("id") Long id);
+
+    @Query(SUMMARY_PROJECTION + "WHERE s.id IN (SELECT m.submission.id FROM MissingSection m "
+            + "WHERE m.sectionName = :sectionName) ORDER BY s.id DESC")
+    List<SubmissionDTO> findSummariesMissingSection(@Param("sectionName") String sectionName, Pageable pageable);
+
+    /**
+     * Cursor over every submission for exports; must be consumed inside a transaction and closed
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.sace.dto.SubmissionExportRow(s.id, u.firstName, u.lastName, u.email, s.fileName,
+                s.fileType, s.fileSize, s.status, s.analysisStatus, s.qualityScore, s.createdAt, s.updatedAt)
+            FROM Submission s JOIN s.user u
+            ORDER BY s.id
+            """)
+    Stream<SubmissionExportRow> streamExportRows();
+
+    @Query("SELECT s.user.id FROM Submission s WHERE s.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    boolean existsByUserAndIdLessThan(User user, Long id);
+
+    @Query("SELECT s.user.email FROM Submission s WHERE s.id = :id")
+    Optional<String> findOwnerEmailById(@Param("id") Long id);
+
+    /**
+     * Compare-and-set status change; 0 rows means the version moved since it was read
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Submission s SET s.status = :status, s.version = s.version + 1, s.updatedAt = CURRENT_TIMESTAMP
+            WHERE s.id = :id AND s.version = :version
+            """)
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") Submission.SubmissionStatus status,
+            @Param("version") Long version);
+
+    /**
+     * Current status, version and owner of each id, for bulk reviews
+     */
+    @Query("""
+            SELECT new com.sace.dto.SubmissionStatusRow(s.id, s.status, s.version, s.fileName, u.email)
+            FROM Submission s JOIN s.user u WHERE s.id IN :ids
+            """)
+    List<SubmissionStatusRow> findStatusRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.id = :id")
+    Optional<Submission> findWithUserById(@Param("id") Long id);
+
+    @Query("SELECT s.updatedAt FROM Submission s WHERE s.user = :user AND s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtByUserAndId(@Param("user") User user, @Param("id") Long id);
+
+    @Query("SELECT s.updatedAt FROM Submission s WHERE s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Most recent submission by the same user with identical content or Drive file, for retry dedup.
+     * Drive matches skip FAILED submissions so a link that could not be downloaded can be retried.
+     */
+    Optional<Submission> findFirstByUserAndContentHashAndCreatedAtAfterOrderByIdDesc(
+            User user, String contentHash, LocalDateTime since);
+
+    Optional<Submission> findFirstByUserAndDriveFileIdAndAnalysisStatusNotAndCreatedAtAfterOrderByIdDesc(
+            User user, String driveFileId, Submission.AnalysisStatus excluded, LocalDateTime since);
+
     List<Submission> findByUserAndStatus(User user, Submission.SubmissionStatus status);
+
+    /**
+     * Keyset-paged scan with owners fetched, for rebuilding derived indexes
+     */
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.id > :afterId ORDER BY s.id")
+    List<Submission> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s FROM Submission s JOIN FETCH s.user WHERE s.id IN :ids")
+    List<Submission> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset-paged [id, updatedAt] pairs, for reconciling derived indexes against the database
+     */
+    @Query("SELECT s.id, s.updatedAt FROM Submission s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findIdAndUpdatedAtAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            SELECT s FROM Submission s WHERE s.id > :afterId
+            AND NOT EXISTS (SELECT 1 FROM SubmissionSignature g WHERE g.submissionId = s.id)
+            ORDER BY s.id
+            """)
+    List<Submission> findBatchWithoutSignatureAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByStatus(Submission.SubmissionStatus status);
+
+    @Query("SELECT s.createdAt, s.fileSize FROM Submission s")
+    List<Object[]> findCreatedAtAndFileSize();
+
+    @Query("SELECT AVG(s.qualityScore) FROM Submission s WHERE s.qualityScore IS NOT NULL")
+    Double averageQualityScore();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Submission s SET s.analysisStatus = :analysisStatus, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id")
+    int updateAnalysisStatus(@Param("id") Long id, @Param("analysisStatus") Submission.AnalysisStatus analysisStatus);
+
+    /**
+     * Persist the extraction stage of a queued job so a retry only repeats the analysis
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Submission s SET s.extractedText = :text, s.pageCount = :pageCount, s.fileName = :fileName,
+            s.contentHash = :contentHash, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id = :id
+            """)
+    int updateExtraction(@Param("id") Long id, @Param("text") String text, @Param("pageCount") Integer pageCount,
+            @Param("fileName") String fileName, @Param("contentHash") String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Submission s SET s.sectionAnalysis = :analysis, s.qualityScore = :qualityScore,
+            s.analysisStatus = :analysisStatus, s.promptVersion = :promptVersion, s.updatedAt = CURRENT_TIMESTAMP
+            WHERE s.id = :id
+            """)
+    int updateAnalysisResult(@Param("id") Long id, @Param("analysis") String analysis,
+            @Param("qualityScore") Integer qualityScore,
+            @Param("analysisStatus") Submission.AnalysisStatus analysisStatus,
+            @Param("promptVersion") String promptVersion);
+
+    /**
+     * Model-analyzed submissions whose analysis came from another prompt version (or from before
+     * versions were recorded, if includeUnversioned), keyset-paged by id for the re-analysis
+     * backfill; returns [submissionId, ownerId] pairs
+     */
+    @Query("""
+            SELECT s.id, s.user.id FROM Submission s
+            WHERE s.id > :afterId AND s.analysisStatus = com.sace.entity.Submission.AnalysisStatus.COMPLETED
+            AND s.qualityScore IS NOT NULL
+            AND (s.promptVersion <> :promptVersion OR (s.promptVersion IS NULL AND :includeUnversioned = TRUE))
+            ORDER BY s.id
+            """)
+    List<Object[]> findOutdatedAnalysesAfter(@Param("afterId") Long afterId,
+            @Param("promptVersion") String promptVersion,
+            @Param("includeUnversioned") boolean includeUnversioned, Pageable pageable);
+
+    @Query("""
+            SELECT COUNT(s) FROM Submission s
+            WHERE s.analysisStatus = com.sace.entity.Submission.AnalysisStatus.COMPLETED
+            AND s.qualityScore IS NOT NULL
+            AND (s.promptVersion <> :promptVersion OR (s.promptVersion IS NULL AND :includeUnversioned = TRUE))
+            """)
+    long countOutdatedAnalyses(@Param("promptVersion") String promptVersion,
+            @Param("includeUnversioned") boolean includeUnversioned);
 }
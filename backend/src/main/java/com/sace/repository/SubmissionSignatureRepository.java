@@ -0,0 +1,17 @@
+package com.sace.repository;
+
+import com.sace.entity.SubmissionSignature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SubmissionSignatureRepository extends JpaRepository<SubmissionSignature, Long> {
+
+    @Query("SELECT g FROM SubmissionSignature g WHERE g.submissionId > :afterId ORDER BY g.submissionId")
+    List<SubmissionSignature> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.sace.repository;
+
+import com.sace.entity.Submission;
+import com.sace.entity.SubmissionStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SubmissionStatusCountRepository extends JpaRepository<SubmissionStatusCount, Submission.SubmissionStatus> {
+
+    @Modifying
+    @Query("UPDATE SubmissionStatusCount c SET c.submissionCount = c.submissionCount + :delta WHERE c.status = :status")
+    int increment(@Param("status") Submission.SubmissionStatus status, @Param("delta") long delta);
+
+    /**
+     * Reset every count to the number of submissions currently in that status
+     */
+    @Modifying
+    @Query("UPDATE SubmissionStatusCount c SET c.submissionCount = (SELECT COUNT(s) FROM Submission s WHERE s.status = c.status)")
+    int recount();
+}
@@ -0,0 +1,122 @@
+package com.sace.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory copy of Google's ID-token signing keys.
+ * Refreshed when the Cache-Control max-age of the last fetch runs out, or when a token
+ * names a key id we have not seen (Google rotated keys); kid-miss refreshes are rate limited
+ * so forged kids cannot turn every login into a JWKS download.
+ */
+@Component
+@Slf4j
+public class GoogleJwksCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    @Value("${app.google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUri;
+
+    @Value("${app.google.jwks-default-ttl-seconds:3600}")
+    private long defaultTtlSeconds;
+
+    @Value("${app.google.jwks-min-refresh-interval-seconds:30}")
+    private long minRefreshIntervalSeconds;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private record KeySet(Map<String, PublicKey> keys, Instant fetchedAt, Instant expiresAt) {
+    }
+
+    private volatile KeySet keySet = new KeySet(Map.of(), Instant.EPOCH, Instant.EPOCH);
+
+    /**
+     * RSA key for the given kid, or null when Google does not publish it (or kid is null)
+     */
+    public PublicKey getKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        KeySet current = keySet;
+        PublicKey key = current.keys().get(kid);
+        Instant now = Instant.now();
+        if (key != null && now.isBefore(current.expiresAt())) {
+            return key;
+        }
+        if (key == null && now.isBefore(current.expiresAt())
+                && now.isBefore(current.fetchedAt().plusSeconds(minRefreshIntervalSeconds))) {
+            return null;
+        }
+        return refresh(current).keys().get(kid);
+    }
+
+    private synchronized KeySet refresh(KeySet seen) {
+        if (keySet != seen) {
+            // Another login refreshed while this one waited
+            return keySet;
+        }
+        Instant now = Instant.now();
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(jwksUri, HttpMethod.GET, null, String.class);
+            Map<String, PublicKey> keys = parseKeys(response.getBody());
+            Duration ttl = maxAge(response.getHeaders().getCacheControl());
+            keySet = new KeySet(keys, now, now.plus(ttl));
+            log.info("Loaded {} Google signing keys, valid for {}s", keys.size(), ttl.toSeconds());
+        } catch (RestClientException | GeneralSecurityException | java.io.IOException | IllegalArgumentException e) {
+            // Keep serving the previous keys; Google publishes new keys well before using them
+            log.warn("Failed to refresh Google signing keys from {}: {}", jwksUri, e.getMessage());
+            keySet = new KeySet(seen.keys(), now, now.plusSeconds(minRefreshIntervalSeconds));
+        }
+        return keySet;
+    }
+
+    private Map<String, PublicKey> parseKeys(String body) throws java.io.IOException, GeneralSecurityException {
+        if (body == null) {
+            throw new IllegalArgumentException("Empty JWKS response");
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(body).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+            keys.put(jwk.get("kid").asText(), keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return Map.copyOf(keys);
+    }
+
+    private Duration maxAge(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return Duration.ofSeconds(defaultTtlSeconds);
+    }
+}
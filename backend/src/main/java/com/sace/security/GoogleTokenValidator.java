@@ -1,67 +1,101 @@
 package com.sace.security;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.util.Base64;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Set;
 
 /**
  * Validates and decodes Google OAuth JWT tokens
  * Google tokens are in format: header.payload.signature
+ * The RS256 signature is checked against Google's published keys (cached by GoogleJwksCache),
+ * and aud/iss/exp are checked locally, so sign-in needs no call to Google.
  */
 @Component
 @Slf4j
 public class GoogleTokenValidator {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    public static final String DEFAULT_CLIENT_ID =
+            "742815630040-7o1redrna3nfr61giflrhch9erinf8a2.apps.googleusercontent.com";
 
-    /**
-     * Decode Google JWT token without verification (for development)
-     * In production, use Google's tokeninfo endpoint for verification
-     */
-    public GoogleTokenInfo decodeToken(String token) throws Exception {
-        try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                throw new IllegalArgumentException("Invalid token format. Expected 3 parts");
-            }
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
 
-            // Decode payload (second part)
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            JsonNode jsonNode = objectMapper.readTree(payload);
+    private final GoogleJwksCache jwksCache;
 
-            log.debug("Token decoded successfully");
-            log.debug("Token issuer: {}", jsonNode.get("iss"));
-            log.debug("Token audience: {}", jsonNode.get("aud"));
-            log.debug("Token email: {}", jsonNode.get("email"));
+    // Same OAuth client the frontend uses (VITE_GOOGLE_CLIENT_ID)
+    @Value("${app.google.client-id:" + DEFAULT_CLIENT_ID + "}")
+    private String clientId;
 
-            GoogleTokenInfo tokenInfo = new GoogleTokenInfo();
-            tokenInfo.setSub(jsonNode.get("sub").asText());
-            tokenInfo.setEmail(jsonNode.has("email") ? jsonNode.get("email").asText() : null);
-            tokenInfo.setName(jsonNode.has("name") ? jsonNode.get("name").asText() : null);
-            tokenInfo.setPicture(jsonNode.has("picture") ? jsonNode.get("picture").asText() : null);
-            tokenInfo.setIssuer(jsonNode.get("iss").asText());
-            tokenInfo.setAudience(jsonNode.get("aud").asText());
+    @Value("${app.google.clock-skew-seconds:60}")
+    private long clockSkewSeconds;
 
-            return tokenInfo;
-        } catch (Exception e) {
-            log.error("Failed to decode Google token: {}", e.getMessage());
-            throw new RuntimeException("Invalid Google token: " + e.getMessage());
-        }
+    public GoogleTokenValidator(GoogleJwksCache jwksCache) {
+        this.jwksCache = jwksCache;
     }
 
     /**
-     * For production: Verify token with Google's tokeninfo endpoint
-     * This ensures the token is actually from Google and hasn't been forged
+     * Verify signature and claims of a Google ID token and return its user information
      */
-    public boolean verifyTokenWithGoogle(String token) {
-        // Implementation for production:
-        // 1. Call https://www.googleapis.com/oauth2/v3/tokeninfo?id_token={token}
-        // 2. Check if response contains valid email and sub
-        // For now, we trust the client-side validation
-        log.info("Token verification skipped (development mode)");
-        return true;
+    public GoogleTokenInfo verifyToken(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            if (!"RS256".equals(header.getAlgorithm())) {
+                                throw new UnsupportedJwtException("Unexpected signing algorithm " + header.getAlgorithm());
+                            }
+                            // Google always sets kid; without one there is no key to look up
+                            if (header.getKeyId() == null) {
+                                throw new JwtException("Token header has no key id");
+                            }
+                            PublicKey key = jwksCache.getKey(header.getKeyId());
+                            if (key == null) {
+                                throw new JwtException("Unknown signing key " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .requireAudience(clientId)
+                    .clockSkewSeconds(clockSkewSeconds)
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+
+            if (!GOOGLE_ISSUERS.contains(claims.getIssuer())) {
+                throw new JwtException("Unexpected issuer " + claims.getIssuer());
+            }
+            if (claims.getExpiration() == null) {
+                throw new JwtException("Token has no expiration");
+            }
+            // Unverified addresses must not be able to take over an existing account by email
+            if (claims.get("email") != null && !Boolean.TRUE.equals(claims.get("email_verified", Boolean.class))) {
+                throw new JwtException("Google email address is not verified");
+            }
+
+            GoogleTokenInfo tokenInfo = new GoogleTokenInfo();
+            tokenInfo.setSub(claims.getSubject());
+            tokenInfo.setEmail(claims.get("email", String.class));
+            tokenInfo.setName(claims.get("name", String.class));
+            tokenInfo.setPicture(claims.get("picture", String.class));
+            tokenInfo.setIssuer(claims.getIssuer());
+            tokenInfo.setAudience(clientId);
+
+            log.debug("Token verified for {}", tokenInfo.getEmail());
+            return tokenInfo;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected Google token: {}", e.getMessage());
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
     }
 
     /**
@@ -17,6 +17,9 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Authenticated user id for filters later in the chain (rate limiting)
+    public static final String USER_ID_ATTRIBUTE = "com.sace.userId";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
@@ -43,6 +46,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 
                 // Store userId in authentication details if needed
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(USER_ID_ATTRIBUTE, userId);
                 
                 log.debug("Set authentication for user: {} with role: {}", email, role);
             }
@@ -58,6 +62,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the SSE stream accepts the token as a query parameter
+        if (request.getRequestURI().endsWith("/submissions/events")) {
+            String queryToken = request.getParameter("access_token");
+            if (StringUtils.hasText(queryToken)) {
+                return queryToken;
+            }
+        }
         return null;
     }
 }
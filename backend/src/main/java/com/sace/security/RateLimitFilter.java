@@ -0,0 +1,91 @@
+package com.sace.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-endpoint-class rate limiting. Runs right after JwtAuthenticationFilter so
+ * authenticated requests are keyed by the JWT user id; anonymous requests fall back to
+ * the client address. Rejected requests get 429 with Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || uri.startsWith("/actuator")
+                || uri.endsWith("/submissions/events"); // one long-lived connection per tab
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.EndpointClass endpointClass = classify(request);
+        Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+        String callerKey = userId != null && endpointClass != RateLimiter.EndpointClass.AUTH
+                ? "user:" + userId
+                : "ip:" + request.getRemoteAddr();
+
+        long waitNanos = rateLimiter.tryAcquire(callerKey, endpointClass);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.warn("Rate limit exceeded for {} on {} {} ({})", callerKey, request.getMethod(),
+                    request.getRequestURI(), endpointClass);
+
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("status", 429);
+            errorResponse.put("error", "Too Many Requests");
+            errorResponse.put("message", "Too many requests, please retry in " + retryAfterSeconds + " seconds");
+            errorResponse.put("path", request.getRequestURI());
+            response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private RateLimiter.EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if ("POST".equals(method) && (uri.equals("/api/auth/login") || uri.equals("/api/auth/signup")
+                || uri.equals("/api/auth/google"))) {
+            return RateLimiter.EndpointClass.AUTH;
+        }
+        if ("POST".equals(method) && (uri.equals("/submissions/upload") || uri.equals("/submissions/link")
+                || (uri.startsWith("/submissions/") && uri.endsWith("/analysis")))) {
+            return RateLimiter.EndpointClass.ANALYSIS;
+        }
+        if (uri.equals("/submissions/search") || uri.endsWith("/similar")) {
+            return RateLimiter.EndpointClass.SEARCH;
+        }
+        return RateLimiter.EndpointClass.DEFAULT;
+    }
+}
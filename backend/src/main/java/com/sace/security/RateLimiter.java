@@ -0,0 +1,103 @@
+package com.sace.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets keyed by caller and endpoint class.
+ * Each bucket is a single AtomicLong updated with compare-and-set (the GCRA form of a
+ * token bucket), so concurrent requests never block each other; buckets for different
+ * callers live in different ConcurrentHashMap bins and never contend at all.
+ */
+@Component
+public class RateLimiter {
+
+    public enum EndpointClass {
+        AUTH,       // login/signup, keyed by client IP
+        ANALYSIS,   // uploads, Drive links and analysis streams: PDF parsing + Gemini quota
+        SEARCH,     // Lucene search and similarity lookups
+        DEFAULT
+    }
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(
+            @Value("${app.ratelimit.auth.capacity:10}") long authCapacity,
+            @Value("${app.ratelimit.auth.per-minute:20}") long authPerMinute,
+            @Value("${app.ratelimit.analysis.capacity:5}") long analysisCapacity,
+            @Value("${app.ratelimit.analysis.per-minute:10}") long analysisPerMinute,
+            @Value("${app.ratelimit.search.capacity:30}") long searchCapacity,
+            @Value("${app.ratelimit.search.per-minute:120}") long searchPerMinute,
+            @Value("${app.ratelimit.default.capacity:200}") long defaultCapacity,
+            @Value("${app.ratelimit.default.per-minute:600}") long defaultPerMinute) {
+        limits.put(EndpointClass.AUTH, Limit.perMinute(authCapacity, authPerMinute));
+        limits.put(EndpointClass.ANALYSIS, Limit.perMinute(analysisCapacity, analysisPerMinute));
+        limits.put(EndpointClass.SEARCH, Limit.perMinute(searchCapacity, searchPerMinute));
+        limits.put(EndpointClass.DEFAULT, Limit.perMinute(defaultCapacity, defaultPerMinute));
+    }
+
+    /**
+     * Take one token
+     *
+     * @return 0 if the request may proceed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String callerKey, EndpointClass endpointClass) {
+        Limit limit = limits.get(endpointClass);
+        Bucket bucket = buckets.computeIfAbsent(endpointClass.name() + ':' + callerKey, key -> new Bucket());
+        return bucket.tryAcquire(limit, System.nanoTime());
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they behave exactly like a new bucket
+     */
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    record Limit(long capacity, long intervalNanos) {
+        static Limit perMinute(long capacity, long perMinute) {
+            return new Limit(Math.max(1, capacity), TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute));
+        }
+
+        long burstNanos() {
+            return capacity * intervalNanos;
+        }
+    }
+
+    /**
+     * Theoretical arrival time: the instant at which the bucket would be full again
+     */
+    static final class Bucket {
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        long tryAcquire(Limit limit, long now) {
+            while (true) {
+                long current = tat.get();
+                long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = base + limit.intervalNanos();
+                long waitNanos = next - now - limit.burstNanos();
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            long current = tat.get();
+            return current == Long.MIN_VALUE || current - now <= 0;
+        }
+    }
+}
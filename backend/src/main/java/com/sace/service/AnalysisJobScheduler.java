@@ -0,0 +1,159 @@
+package com.sace.service;
+
+import com.sace.entity.AnalysisJob;
+import com.sace.entity.User;
+import com.sace.repository.AnalysisJobRepository;
+import com.sace.repository.SubmissionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides the order in which queued analysis jobs are claimed. Every job gets a deadline:
+ * enqueue time plus its priority class's target wait, so instructor work goes first, a
+ * student's first submission before resubmissions, and older jobs age past newer ones of a
+ * higher class. Submission jobs are also placed at least one quantum after the owner's
+ * last queued job, so thirty revisions from one student interleave with everyone else's
+ * work instead of running back to back. Workers claim due jobs earliest deadline first.
+ */
+@Service
+@Slf4j
+public class AnalysisJobScheduler {
+
+    private final AnalysisJobRepository jobRepository;
+    private final SubmissionRepository submissionRepository;
+    private final Map<AnalysisJob.PriorityClass, Timer> waitTimers = new EnumMap<>(AnalysisJob.PriorityClass.class);
+    private final Map<AnalysisJob.PriorityClass, Counter> missedDeadlines = new EnumMap<>(AnalysisJob.PriorityClass.class);
+
+    @Value("${app.jobs.scheduling.instructor-target-wait-ms:0}")
+    private long instructorTargetWaitMs;
+
+    @Value("${app.jobs.scheduling.first-submission-target-wait-ms:60000}")
+    private long firstSubmissionTargetWaitMs;
+
+    @Value("${app.jobs.scheduling.resubmission-target-wait-ms:300000}")
+    private long resubmissionTargetWaitMs;
+
+    // Far enough out that backfill only runs when no student or instructor work is due
+    @Value("${app.jobs.scheduling.backfill-target-wait-ms:86400000}")
+    private long backfillTargetWaitMs;
+
+    // Roughly one analysis; the spacing between consecutive jobs of the same owner
+    @Value("${app.jobs.scheduling.user-quantum-ms:30000}")
+    private long userQuantumMs;
+
+    public AnalysisJobScheduler(AnalysisJobRepository jobRepository,
+            SubmissionRepository submissionRepository,
+            MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.submissionRepository = submissionRepository;
+        for (AnalysisJob.PriorityClass priorityClass : AnalysisJob.PriorityClass.values()) {
+            waitTimers.put(priorityClass, Timer.builder("sace.jobs.queue.wait")
+                    .description("Time analysis jobs wait between enqueue and their first attempt")
+                    .tag("class", priorityClass.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            missedDeadlines.put(priorityClass, Counter.builder("sace.jobs.deadline.missed")
+                    .description("Analysis jobs first started after their scheduling deadline")
+                    .tag("class", priorityClass.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Queue analysis for a newly stored submission
+     */
+    public AnalysisJob enqueueSubmission(User owner, Long submissionId) {
+        AnalysisJob.PriorityClass priorityClass = submissionRepository.existsByUserAndIdLessThan(owner, submissionId)
+                ? AnalysisJob.PriorityClass.RESUBMISSION
+                : AnalysisJob.PriorityClass.FIRST_SUBMISSION;
+        return enqueue(submissionId, owner.getId(), priorityClass);
+    }
+
+    public AnalysisJob enqueue(Long submissionId, Long userId, AnalysisJob.PriorityClass priorityClass) {
+        LocalDateTime deadline = deadline(userId, priorityClass);
+        AnalysisJob job = jobRepository.save(new AnalysisJob(submissionId, userId, priorityClass, deadline));
+        log.debug("Queued analysis job {} for submission {} as {} with deadline {}",
+                job.getId(), submissionId, priorityClass, deadline);
+        return job;
+    }
+
+    /**
+     * Move a queued job to the instructor class; false when it was claimed in the meantime
+     */
+    public boolean promote(AnalysisJob job) {
+        return jobRepository.promote(job.getId(), AnalysisJob.PriorityClass.INSTRUCTOR,
+                deadline(job.getUserId(), AnalysisJob.PriorityClass.INSTRUCTOR)) > 0;
+    }
+
+    /**
+     * Requeue a dead-lettered job as instructor work
+     */
+    public boolean requeueDead(Long jobId) {
+        return jobRepository.requeueDead(jobId, AnalysisJob.PriorityClass.INSTRUCTOR,
+                deadline(null, AnalysisJob.PriorityClass.INSTRUCTOR)) > 0;
+    }
+
+    /**
+     * Record queue wait when a job is claimed for its first attempt
+     */
+    public void recordFirstClaim(AnalysisJob job, LocalDateTime now) {
+        if (job.getPriorityClass() == null || job.getEnqueuedAt() == null) {
+            return;
+        }
+        waitTimers.get(job.getPriorityClass())
+                .record(Duration.between(job.getEnqueuedAt(), now).toMillis(), TimeUnit.MILLISECONDS);
+        if (job.getDeadline() != null && now.isAfter(job.getDeadline())) {
+            missedDeadlines.get(job.getPriorityClass()).increment();
+        }
+    }
+
+    /**
+     * Per-class queue wait so far, for the instructor job view
+     */
+    public Map<String, Map<String, Object>> getWaitStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        waitTimers.forEach((priorityClass, timer) -> {
+            Map<String, Object> classStats = new LinkedHashMap<>();
+            classStats.put("started", timer.count());
+            classStats.put("meanWaitMs", Math.round(timer.mean(TimeUnit.MILLISECONDS)));
+            classStats.put("maxWaitMs", Math.round(timer.max(TimeUnit.MILLISECONDS)));
+            classStats.put("missedDeadlines", (long) missedDeadlines.get(priorityClass).count());
+            stats.put(priorityClass.name(), classStats);
+        });
+        return stats;
+    }
+
+    private LocalDateTime deadline(Long userId, AnalysisJob.PriorityClass priorityClass) {
+        LocalDateTime deadline = LocalDateTime.now().plus(Duration.ofMillis(targetWaitMs(priorityClass)));
+        if (userId == null || (priorityClass != AnalysisJob.PriorityClass.FIRST_SUBMISSION
+                && priorityClass != AnalysisJob.PriorityClass.RESUBMISSION)) {
+            return deadline;
+        }
+        // Fair share: never ahead of the owner's own queued work plus one quantum
+        LocalDateTime ownerTail = jobRepository.findLatestQueuedDeadline(userId).orElse(null);
+        if (ownerTail != null && ownerTail.plus(Duration.ofMillis(userQuantumMs)).isAfter(deadline)) {
+            return ownerTail.plus(Duration.ofMillis(userQuantumMs));
+        }
+        return deadline;
+    }
+
+    private long targetWaitMs(AnalysisJob.PriorityClass priorityClass) {
+        return switch (priorityClass) {
+            case INSTRUCTOR -> instructorTargetWaitMs;
+            case FIRST_SUBMISSION -> firstSubmissionTargetWaitMs;
+            case RESUBMISSION -> resubmissionTargetWaitMs;
+            case BACKFILL -> backfillTargetWaitMs;
+        };
+    }
+}
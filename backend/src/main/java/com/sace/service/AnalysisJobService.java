@@ -0,0 +1,238 @@
+package com.sace.service;
+
+import com.sace.config.NodeIdentity;
+import com.sace.entity.AnalysisJob;
+import com.sace.entity.Submission;
+import com.sace.repository.AnalysisJobRepository;
+import com.sace.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the analysis_jobs table and runs claimed jobs on the analysisJobExecutor, earliest
+ * deadline first (see AnalysisJobScheduler).
+ * Failures are retried with exponential backoff; after app.jobs.max-attempts the job
+ * is dead-lettered and the submission is marked FAILED until an instructor requeues it.
+ */
+@Service
+@Slf4j
+public class AnalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final AnalysisJobRepository jobRepository;
+    private final AnalysisJobScheduler scheduler;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionService submissionService;
+    private final Executor jobExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${app.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${app.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.jobs.lease-ms:600000}")
+    private long leaseMs;
+
+    @Value("${app.jobs.backoff-base-ms:5000}")
+    private long backoffBaseMs;
+
+    @Value("${app.jobs.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${app.jobs.succeeded-retention-hours:72}")
+    private long succeededRetentionHours;
+
+    public AnalysisJobService(AnalysisJobRepository jobRepository,
+            AnalysisJobScheduler scheduler,
+            SubmissionRepository submissionRepository,
+            SubmissionService submissionService,
+            @Qualifier("analysisJobExecutor") Executor jobExecutor,
+            PlatformTransactionManager transactionManager,
+            NodeIdentity nodeIdentity) {
+        this.jobRepository = jobRepository;
+        this.scheduler = scheduler;
+        this.submissionRepository = submissionRepository;
+        this.submissionService = submissionService;
+        this.jobExecutor = jobExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeIdentity.getId();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        int idle = workerThreads - inFlight.get();
+        if (idle <= 0) {
+            return;
+        }
+
+        List<AnalysisJob> claimed = claim(idle);
+        for (AnalysisJob job : claimed) {
+            inFlight.incrementAndGet();
+            try {
+                jobExecutor.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Executor rejected the hand-off; the lease expires and the job is claimed again
+                inFlight.decrementAndGet();
+                log.warn("Could not start analysis job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lock due rows (skipping rows other nodes hold), take the lease and commit before any work starts
+     */
+    private List<AnalysisJob> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<AnalysisJob> jobs = jobRepository.findClaimable(now, PageRequest.of(0, limit));
+            for (AnalysisJob job : jobs) {
+                if (job.getAttempts() == 0) {
+                    scheduler.recordFirstClaim(job, now);
+                }
+                job.setStatus(AnalysisJob.JobStatus.RUNNING);
+                job.setLeaseOwner(nodeId);
+                job.setLeaseToken(UUID.randomUUID().toString());
+                job.setLeaseExpiresAt(now.plus(Duration.ofMillis(leaseMs)));
+                job.setAttempts(job.getAttempts() + 1);
+            }
+            return jobs;
+        });
+    }
+
+    private void run(AnalysisJob job) {
+        boolean finalAttempt = job.getAttempts() >= maxAttempts;
+        // A failed backfill keeps the existing model analysis instead of the local fallback
+        boolean backfill = job.getPriorityClass() == AnalysisJob.PriorityClass.BACKFILL;
+        log.info("Running analysis job {} for submission {} (attempt {}/{})",
+                job.getId(), job.getSubmissionId(), job.getAttempts(), maxAttempts);
+        try {
+            boolean analyzed = submissionService.processSubmission(job.getSubmissionId(), finalAttempt && !backfill);
+            if (analyzed) {
+                jobRepository.markSucceeded(job.getId(), job.getLeaseToken());
+            } else {
+                // Final attempt fell back to local section detection; keep the job visible for a manual retry
+                jobRepository.markDead(job.getId(), job.getLeaseToken(),
+                        "Gemini analysis failed after " + job.getAttempts() + " attempts; stored local section detection");
+            }
+        } catch (Exception e) {
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (finalAttempt) {
+                log.error("Analysis job {} dead-lettered after {} attempts: {}", job.getId(), job.getAttempts(), error);
+                jobRepository.markDead(job.getId(), job.getLeaseToken(), error);
+                if (!backfill) {
+                    submissionService.markAnalysisFailed(job.getSubmissionId(), e);
+                }
+            } else {
+                long delay = Math.min(backoffMaxMs, backoffBaseMs << Math.min(job.getAttempts() - 1, 20));
+                log.warn("Analysis job {} failed (attempt {}), retrying in {} ms: {}",
+                        job.getId(), job.getAttempts(), delay, error);
+                jobRepository.reschedule(job.getId(), job.getLeaseToken(), LocalDateTime.now().plus(Duration.ofMillis(delay)), error);
+            }
+        }
+    }
+
+    /**
+     * Move a dead-lettered job back to the queue with a fresh attempt budget, ahead of student work
+     */
+    public boolean requeue(Long jobId) {
+        return scheduler.requeueDead(jobId);
+    }
+
+    /**
+     * Instructor-triggered re-analysis. A job already queued for the submission is promoted to the
+     * instructor class; otherwise a new one is queued. Extracted text is kept, so only the model
+     * call is repeated.
+     */
+    public AnalysisJob reanalyze(Long submissionId) {
+        return reanalyze(submissionId, AnalysisJob.PriorityClass.INSTRUCTOR);
+    }
+
+    /**
+     * Re-analysis in the given class; a job already queued for the submission is reused, and only
+     * promoted when the request is instructor work
+     */
+    public AnalysisJob reanalyze(Long submissionId, AnalysisJob.PriorityClass priorityClass) {
+        Long ownerId = submissionRepository.findOwnerIdById(submissionId)
+                .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + submissionId));
+
+        Optional<AnalysisJob> active = jobRepository.findFirstBySubmissionIdAndStatusIn(submissionId,
+                List.of(AnalysisJob.JobStatus.PENDING, AnalysisJob.JobStatus.RUNNING));
+        if (active.isPresent()) {
+            AnalysisJob job = active.get();
+            if (job.getStatus() == AnalysisJob.JobStatus.PENDING && priorityClass != AnalysisJob.PriorityClass.INSTRUCTOR) {
+                return job;
+            }
+            if (job.getStatus() == AnalysisJob.JobStatus.RUNNING || !scheduler.promote(job)) {
+                throw new IllegalStateException("Analysis of submission " + submissionId + " is already running");
+            }
+            log.info("Promoted queued analysis job {} for submission {}", job.getId(), submissionId);
+            return jobRepository.findById(job.getId()).orElse(job);
+        }
+
+        submissionRepository.updateAnalysisStatus(submissionId, Submission.AnalysisStatus.PENDING);
+        AnalysisJob job = scheduler.enqueue(submissionId, ownerId, priorityClass);
+        log.info("Queued re-analysis job {} for submission {}", job.getId(), submissionId);
+        return job;
+    }
+
+    public List<AnalysisJob> getJobs(AnalysisJob.JobStatus status, int limit) {
+        return jobRepository.findByStatusOrderByUpdatedAtDesc(status, PageRequest.of(0, limit));
+    }
+
+    public Map<String, Long> getQueueCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (AnalysisJob.JobStatus status : AnalysisJob.JobStatus.values()) {
+            counts.put(status.name(), jobRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    public Map<String, Map<String, Object>> getWaitStats() {
+        return scheduler.getWaitStats();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.cleanup-interval-ms:3600000}")
+    public void purgeSucceeded() {
+        int removed = jobRepository.deleteSucceededBefore(LocalDateTime.now().minusHours(succeededRetentionHours));
+        if (removed > 0) {
+            log.info("Purged {} completed analysis jobs", removed);
+        }
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,264 @@
+package com.sace.service;
+
+import com.sace.entity.MissingSectionCount;
+import com.sace.entity.Submission;
+import com.sace.entity.SubmissionDailyStats;
+import com.sace.entity.SubmissionStatusCount;
+import com.sace.repository.MissingSectionCountRepository;
+import com.sace.repository.MissingSectionRepository;
+import com.sace.repository.SubmissionDailyStatsRepository;
+import com.sace.repository.SubmissionRepository;
+import com.sace.repository.SubmissionStatusCountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains precomputed submission aggregates on every save, status change and delete,
+ * so instructor dashboards read a handful of small rows instead of scanning submissions.
+ * The record* methods join the caller's transaction so an aggregate only moves when the
+ * submission write it describes commits; recountAggregates corrects any remaining drift.
+ */
+@Service
+@Slf4j
+public class AnalyticsService {
+
+    private final SubmissionStatusCountRepository statusCountRepository;
+    private final SubmissionDailyStatsRepository dailyStatsRepository;
+    private final MissingSectionCountRepository missingSectionCountRepository;
+    private final SubmissionRepository submissionRepository;
+    private final MissingSectionRepository missingSectionRepository;
+    private final TransactionTemplate newTransaction;
+
+    // Days whose row is known to exist, so the insert is only attempted once per day
+    private final Set<LocalDate> knownDays = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public AnalyticsService(SubmissionStatusCountRepository statusCountRepository,
+            SubmissionDailyStatsRepository dailyStatsRepository,
+            MissingSectionCountRepository missingSectionCountRepository,
+            SubmissionRepository submissionRepository,
+            MissingSectionRepository missingSectionRepository,
+            PlatformTransactionManager transactionManager) {
+        this.statusCountRepository = statusCountRepository;
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.missingSectionCountRepository = missingSectionCountRepository;
+        this.submissionRepository = submissionRepository;
+        this.missingSectionRepository = missingSectionRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Create any missing aggregate rows and reconcile them with existing data on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeAggregates() {
+        for (Submission.SubmissionStatus status : Submission.SubmissionStatus.values()) {
+            insertIfAbsent(() -> {
+                if (!statusCountRepository.existsById(status)) {
+                    statusCountRepository.save(new SubmissionStatusCount(status, 0L));
+                }
+            });
+        }
+        for (String section : GeminiService.IEEE_830_SECTIONS) {
+            insertIfAbsent(() -> {
+                if (!missingSectionCountRepository.existsById(section)) {
+                    missingSectionCountRepository.save(new MissingSectionCount(section, 0L));
+                }
+            });
+        }
+        recountAggregates();
+    }
+
+    @Scheduled(cron = "${app.analytics.recount-cron:0 30 3 * * *}")
+    public void scheduledRecount() {
+        recountAggregates();
+    }
+
+    /**
+     * Recompute status and missing-section counts from the submissions they summarize, and add
+     * daily rows for days that have submissions but no row. Existing daily rows are ingest history
+     * (deletes never decrement them, timings cannot be recovered), so they are left as they are.
+     */
+    public void recountAggregates() {
+        newTransaction.executeWithoutResult(tx -> {
+            statusCountRepository.recount();
+            missingSectionCountRepository.recount();
+        });
+
+        Map<LocalDate, SubmissionDailyStats> days = new HashMap<>();
+        for (Object[] row : submissionRepository.findCreatedAtAndFileSize()) {
+            LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+            SubmissionDailyStats stats = days.computeIfAbsent(day, SubmissionDailyStats::new);
+            stats.setSubmissionCount(stats.getSubmissionCount() + 1);
+            stats.setTotalFileSize(stats.getTotalFileSize() + (row[1] != null ? (Long) row[1] : 0L));
+        }
+        dailyStatsRepository.findAllById(days.keySet()).forEach(existing -> days.remove(existing.getDay()));
+        // One insert per day, so a row created concurrently by an upload only skips that day
+        for (SubmissionDailyStats stats : days.values()) {
+            insertIfAbsent(() -> {
+                if (!dailyStatsRepository.existsById(stats.getDay())) {
+                    dailyStatsRepository.save(stats);
+                }
+            });
+        }
+        log.info("Recounted submission aggregates; backfilled daily stats for {} days", days.size());
+    }
+
+    /**
+     * Record a new submission; pass a negative duration when that stage did not run
+     */
+    @Transactional
+    public void recordSubmissionCreated(Submission submission, long extractionMs, long analysisMs) {
+        LocalDate day = LocalDate.now();
+        ensureDailyRow(day);
+        dailyStatsRepository.increment(day, 1, submission.getFileSize() != null ? submission.getFileSize() : 0L,
+                extractionMs >= 0 ? 1 : 0, Math.max(extractionMs, 0),
+                analysisMs >= 0 ? 1 : 0, Math.max(analysisMs, 0));
+        statusCountRepository.increment(submission.getStatus(), 1);
+    }
+
+    /**
+     * Record extraction/analysis timings for a submission processed by the job queue
+     * after it was counted; negative durations mean the stage did not run
+     */
+    @Transactional
+    public void recordProcessing(long extractionMs, long analysisMs) {
+        LocalDate day = LocalDate.now();
+        ensureDailyRow(day);
+        dailyStatsRepository.increment(day, 0, 0L,
+                extractionMs >= 0 ? 1 : 0, Math.max(extractionMs, 0),
+                analysisMs >= 0 ? 1 : 0, Math.max(analysisMs, 0));
+    }
+
+    @Transactional
+    public void recordStatusChange(Submission.SubmissionStatus oldStatus, Submission.SubmissionStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        statusCountRepository.increment(oldStatus, -1);
+        statusCountRepository.increment(newStatus, 1);
+    }
+
+    /**
+     * Apply net per-status deltas from a bulk review, one UPDATE per status touched
+     */
+    @Transactional
+    public void recordStatusChanges(Map<Submission.SubmissionStatus, Long> deltas) {
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                statusCountRepository.increment(status, delta);
+            }
+        });
+    }
+
+    /**
+     * Daily ingest stats are historical and are not decremented on delete
+     */
+    @Transactional
+    public void recordSubmissionDeleted(Submission submission, List<String> missingSections) {
+        statusCountRepository.increment(submission.getStatus(), -1);
+        recordMissingSectionsChanged(missingSections, List.of());
+    }
+
+    @Transactional
+    public void recordMissingSectionsChanged(List<String> previous, List<String> current) {
+        for (String section : previous) {
+            missingSectionCountRepository.increment(section, -1);
+        }
+        for (String section : current) {
+            missingSectionCountRepository.increment(section, 1);
+        }
+    }
+
+    /**
+     * Dashboard payload; cost depends on the window size, not on submission volume
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getAnalytics(int days) {
+        Map<String, Long> countsByStatus = new LinkedHashMap<>();
+        for (Submission.SubmissionStatus status : Submission.SubmissionStatus.values()) {
+            countsByStatus.put(status.name(), 0L);
+        }
+        for (SubmissionStatusCount count : statusCountRepository.findAll()) {
+            countsByStatus.put(count.getStatus().name(), count.getSubmissionCount());
+        }
+
+        List<Map<String, Object>> perDay = new ArrayList<>();
+        long submissions = 0, fileSize = 0, extractions = 0, extractionMs = 0, analyses = 0, analysisMs = 0;
+        for (SubmissionDailyStats stats : dailyStatsRepository.findByDayGreaterThanEqualOrderByDayAsc(
+                LocalDate.now().minusDays(days - 1L))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("date", stats.getDay());
+            entry.put("submissions", stats.getSubmissionCount());
+            perDay.add(entry);
+
+            submissions += stats.getSubmissionCount();
+            fileSize += stats.getTotalFileSize();
+            extractions += stats.getExtractionCount();
+            extractionMs += stats.getTotalExtractionMs();
+            analyses += stats.getAnalysisCount();
+            analysisMs += stats.getTotalAnalysisMs();
+        }
+
+        List<Map<String, Object>> missingSections = new ArrayList<>();
+        for (MissingSectionCount count : missingSectionCountRepository.findAllByOrderBySubmissionCountDesc()) {
+            if (count.getSubmissionCount() > 0) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("section", count.getSectionName());
+                entry.put("count", count.getSubmissionCount());
+                missingSections.add(entry);
+            }
+        }
+
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("countsByStatus", countsByStatus);
+        analytics.put("submissionsPerDay", perDay);
+        analytics.put("averageFileSize", submissions > 0 ? fileSize / submissions : 0);
+        analytics.put("averageExtractionMs", extractions > 0 ? extractionMs / extractions : 0);
+        analytics.put("averageAnalysisMs", analyses > 0 ? analysisMs / analyses : 0);
+        analytics.put("commonMissingSections", missingSections);
+        return analytics;
+    }
+
+    private void ensureDailyRow(LocalDate day) {
+        if (knownDays.contains(day)) {
+            return;
+        }
+        insertIfAbsent(() -> {
+            if (!dailyStatsRepository.existsById(day)) {
+                dailyStatsRepository.save(new SubmissionDailyStats(day));
+            }
+        });
+        knownDays.add(day);
+    }
+
+    /**
+     * Insert in its own transaction; a concurrent insert from another request or node is harmless
+     */
+    private void insertIfAbsent(Runnable insert) {
+        try {
+            newTransaction.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Aggregate row already created concurrently: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.sace.service;
+
+import com.sace.config.NodeIdentity;
+import com.sace.dto.SubmissionEventDTO;
+import com.sace.entity.ClusterEvent;
+import com.sace.repository.ClusterEventRepository;
+import com.sace.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-node mode (app.cluster.enabled): tails cluster_events written by other nodes,
+ * forwards them to this node's SSE subscribers and keeps this node's Lucene and
+ * MinHash indexes in step with submissions created or deleted elsewhere.
+ */
+@Service
+@Slf4j
+public class ClusterEventRelay {
+
+    private static final int BATCH_SIZE = 500;
+    // IDENTITY values can commit out of order across nodes, so a short tail below the
+    // high-water mark is re-read on every poll and already relayed ids are skipped
+    private static final long REPLAY_WINDOW = 200;
+    private static final int MAX_REMEMBERED_IDS = 10_000;
+
+    private final ClusterEventRepository clusterEventRepository;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionEventService eventService;
+    private final SubmissionSearchService searchService;
+    private final SimilarityService similarityService;
+    private final String nodeId;
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cluster.event-retention-minutes:60}")
+    private long retentionMinutes;
+
+    // Only touched from the scheduler thread
+    private long highWater;
+    private final Set<Long> relayedIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > MAX_REMEMBERED_IDS;
+        }
+    });
+
+    public ClusterEventRelay(ClusterEventRepository clusterEventRepository,
+            SubmissionRepository submissionRepository,
+            SubmissionEventService eventService,
+            SubmissionSearchService searchService,
+            SimilarityService similarityService,
+            NodeIdentity nodeIdentity) {
+        this.clusterEventRepository = clusterEventRepository;
+        this.submissionRepository = submissionRepository;
+        this.eventService = eventService;
+        this.searchService = searchService;
+        this.similarityService = similarityService;
+        this.nodeId = nodeIdentity.getId();
+    }
+
+    /**
+     * Start from the current end of the table; earlier events are already reflected in the
+     * database, and the local indexes reconcile themselves with it on startup
+     * (SubmissionSearchService.reconcile, SimilarityService.loadIndex). Runs before them so
+     * a change committed during reconciliation is relayed rather than missed.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            highWater = clusterEventRepository.findMaxId();
+            log.info("Cluster mode enabled on node {}, relaying events after id {}", nodeId, highWater);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.relay-interval-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        List<ClusterEvent> events = clusterEventRepository.findFromOtherNodesAfter(
+                Math.max(0, highWater - REPLAY_WINDOW), nodeId, PageRequest.of(0, BATCH_SIZE));
+        for (ClusterEvent event : events) {
+            highWater = Math.max(highWater, event.getId());
+            if (relayedIds.add(event.getId())) {
+                apply(event);
+            }
+        }
+    }
+
+    private void apply(ClusterEvent event) {
+        try {
+            switch (event.getEventType()) {
+                case SubmissionEventService.DELETED -> {
+                    searchService.delete(event.getSubmissionId());
+                    similarityService.remove(event.getSubmissionId());
+                }
+                case SubmissionEventService.CREATED, SubmissionEventService.ANALYSIS_COMPLETED ->
+                        submissionRepository.findWithUserById(event.getSubmissionId()).ifPresent(submission -> {
+                            searchService.index(submission);
+                            similarityService.indexSubmission(submission);
+                        });
+                case SubmissionEventService.STATUS_CHANGED ->
+                        submissionRepository.findUpdatedAtById(event.getSubmissionId()).ifPresent(updatedAt ->
+                                searchService.touch(event.getSubmissionId(), updatedAt));
+                default -> {
+                    // Other events carry everything subscribers need
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh local indexes for submission {}: {}", event.getSubmissionId(), e.getMessage());
+        }
+
+        eventService.publishLocal(SubmissionEventDTO.builder()
+                .type(event.getEventType())
+                .submissionId(event.getSubmissionId())
+                .status(event.getStatus())
+                .fileName(event.getFileName())
+                .timestamp(event.getCreatedAt())
+                .build(), event.getOwnerEmail());
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.cleanup-interval-ms:600000}")
+    public void purge() {
+        if (enabled) {
+            clusterEventRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(retentionMinutes));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.sace.service;
+
+import com.sace.entity.StoredFile;
+import com.sace.repository.StoredFileRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Uploads stored as rows in stored_files. Submissions are capped at 10MB, so holding
+ * one document in memory while reading or writing it is acceptable.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "database")
+public class DatabaseFileStorage implements FileStorage {
+
+    private final StoredFileRepository storedFileRepository;
+
+    public DatabaseFileStorage(StoredFileRepository storedFileRepository) {
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    @Override
+    public String store(String fileName, InputStream content) throws IOException {
+        // Random prefix: two nodes can store the same file name in the same millisecond
+        String key = UUID.randomUUID() + "_" + Paths.get(fileName).getFileName();
+        byte[] bytes = content.readAllBytes();
+        storedFileRepository.save(new StoredFile(key, bytes, (long) bytes.length, null));
+        return key;
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        StoredFile file = storedFileRepository.findById(key)
+                .orElseThrow(() -> new FileNotFoundException("No stored file for key: " + key));
+        return new ByteArrayInputStream(file.getContent());
+    }
+
+    @Override
+    public Resource loadAsResource(String key) throws IOException {
+        StoredFile file = storedFileRepository.findById(key)
+                .orElseThrow(() -> new FileNotFoundException("No stored file for key: " + key));
+        return new ByteArrayResource(file.getContent());
+    }
+
+    @Override
+    public void delete(String key) {
+        storedFileRepository.deleteById(key);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sace.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where uploaded documents live. Submission.filePath holds the key returned by {@link #store},
+ * so request handling never depends on a file being on this node's disk.
+ * Selected with app.storage.type (local or database).
+ */
+public interface FileStorage {
+
+    /**
+     * Store a new file and return its storage key
+     */
+    String store(String fileName, InputStream content) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Stored file as a Resource for HTTP responses; file-backed where possible so it can be
+     * sent without copying through the heap
+     */
+    Resource loadAsResource(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -1,223 +1,238 @@
 package com.sace.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sace.dto.SRSAnalysisResult;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
+@Slf4j
 public class GeminiService {
 
+    /**
+     * Canonical IEEE 830 section names; structured results only use these so they can be grouped in SQL
+     */
+    public static final List<String> IEEE_830_SECTIONS = List.of(
+            "Introduction", "Overall Description", "Specific Requirements",
+            "Functional Requirements", "Non-Functional Requirements",
+            "External Interface Requirements", "Appendices");
+
+    public static final List<String> ANALYSIS_CRITERIA = List.of(
+            "Completeness", "Consistency", "Clarity",
+            "Functional Requirements", "Non-Functional Requirements");
+
     @Value("${gemini.api.key}")
     private String apiKey;
 
     @Value("${gemini.api.model:gemini-pro}")
     private String model;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${gemini.api.lite-model:gemini-1.5-flash}")
+    private String liteModel;
 
-    /**
-     * Analyze SRS document using Gemini AI
-     */
-    public String analyzeSRS(String documentText) {
-        String prompt = buildSRSAnalysisPrompt(documentText);
-        return callGeminiAPI(prompt);
-    }
-
-    /**
-     * Analyze specific sections of SRS document
-     */
-    public Map<String, String> analyzeSRSSections(String documentText) {
-        Map<String, String> sectionAnalysis = new HashMap<>();
+    @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com}")
+    private String baseUrl;
 
-        // Analyze different sections
-        sectionAnalysis.put("completeness", analyzeCompleteness(documentText));
-        sectionAnalysis.put("consistency", analyzeConsistency(documentText));
-        sectionAnalysis.put("clarity", analyzeClarity(documentText));
-        sectionAnalysis.put("requirements", extractRequirements(documentText));
-        sectionAnalysis.put("suggestions", generateSuggestions(documentText));
+    // Structured analysis prompt, loaded from prompts/structured-analysis-{version}.txt. Add a new
+    // file and bump this to change the prompt; the version is stored on every analyzed submission.
+    @Value("${gemini.prompt.version:v1}")
+    private String promptVersion;
 
-        return sectionAnalysis;
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String structuredPromptTemplate;
+
+    @PostConstruct
+    public void loadPromptTemplates() throws IOException {
+        ClassPathResource template = new ClassPathResource("prompts/structured-analysis-" + promptVersion + ".txt");
+        if (!template.exists()) {
+            throw new IllegalStateException("No structured analysis prompt for gemini.prompt.version=" + promptVersion);
+        }
+        structuredPromptTemplate = template.getContentAsString(StandardCharsets.UTF_8);
+        log.info("Using structured analysis prompt {}", promptVersion);
     }
 
     /**
-     * Build comprehensive SRS analysis prompt
+     * Analyze SRS document using Gemini JSON mode with a response schema, on either the configured
+     * model or the smaller, faster lite model. The response is streamed; onSummaryDelta receives the
+     * "summary" field's text as it is generated. Throws on any failure so callers can fall back to
+     * local detection.
      */
-    private String buildSRSAnalysisPrompt(String documentText) {
-        return String.format("""
-                You are an expert Software Requirements Specification (SRS) analyst.
-                Analyze the following SRS document and provide a comprehensive analysis covering:
-
-                1. Completeness: Are all necessary sections present?
-                2. Consistency: Are there any contradictions or inconsistencies?
-                3. Clarity: Is the language clear and unambiguous?
-                4. Functional Requirements: List and evaluate functional requirements
-                5. Non-Functional Requirements: List and evaluate non-functional requirements
-                6. Quality Assessment: Rate the overall quality (1-10)
-                7. Recommendations: Provide specific improvement suggestions
-
-                SRS Document:
-                %s
-
-                Provide a structured analysis with clear sections and bullet points.
-                """, documentText);
+    public SRSAnalysisResult analyzeSRSStructured(String documentText, boolean lite, Consumer<String> onSummaryDelta) {
+        String prompt = buildStructuredAnalysisPrompt(documentText);
+        String json = streamGeminiJson(lite ? liteModel : model, prompt, buildAnalysisResponseSchema(), onSummaryDelta);
+        try {
+            SRSAnalysisResult result = objectMapper.readValue(json, SRSAnalysisResult.class);
+            // The schema enums and score range are hints the model may ignore; keep what gets stored in range
+            Set<String> seenCriteria = new HashSet<>();
+            result.setCriteria(result.getCriteria().stream()
+                    .filter(criterion -> ANALYSIS_CRITERIA.contains(criterion.getName()))
+                    .filter(criterion -> criterion.getScore() != null)
+                    .filter(criterion -> seenCriteria.add(criterion.getName()))
+                    .map(criterion -> new SRSAnalysisResult.CriterionScore(criterion.getName(),
+                            clampScore(criterion.getScore()), criterion.getComment()))
+                    .toList());
+            if (result.getQualityScore() != null) {
+                result.setQualityScore(clampScore(result.getQualityScore()));
+            }
+            result.setMissingSections(result.getMissingSections().stream()
+                    .filter(IEEE_830_SECTIONS::contains)
+                    .distinct()
+                    .toList());
+            return result;
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Unable to parse structured Gemini response: " + e.getMessage(), e);
+        }
     }
 
-    /**
-     * Analyze completeness of the SRS
-     */
-    private String analyzeCompleteness(String documentText) {
-        String prompt = String.format("""
-                Analyze the completeness of this SRS document. Check if it includes:
-                - Introduction and Purpose
-                - Scope
-                - Functional Requirements
-                - Non-Functional Requirements
-                - System Architecture
-                - Use Cases
-                - Constraints and Assumptions
-
-                Document:
-                %s
-
-                List what's present and what's missing.
-                """, documentText);
-
-        return callGeminiAPI(prompt);
+    private static int clampScore(int score) {
+        return Math.max(1, Math.min(10, score));
     }
 
     /**
-     * Analyze consistency of the SRS
+     * Version of the structured analysis prompt template in use
      */
-    private String analyzeConsistency(String documentText) {
-        String prompt = String.format("""
-                Analyze this SRS document for consistency issues:
-                - Contradictory requirements
-                - Conflicting specifications
-                - Inconsistent terminology
-                - Version mismatches
-
-                Document:
-                %s
-
-                List any inconsistencies found.
-                """, documentText);
-
-        return callGeminiAPI(prompt);
+    public String getPromptVersion() {
+        return promptVersion;
     }
 
     /**
-     * Analyze clarity of the SRS
+     * Identifies what analyzeSRSStructured would send for a document: prompt version and model
      */
-    private String analyzeClarity(String documentText) {
-        String prompt = String.format("""
-                Analyze this SRS document for clarity:
-                - Ambiguous statements
-                - Vague requirements
-                - Complex or unclear language
-                - Missing definitions
-
-                Document:
-                %s
-
-                Identify unclear sections and suggest improvements.
-                """, documentText);
-
-        return callGeminiAPI(prompt);
+    public String structuredAnalysisVersion(boolean lite) {
+        return promptVersion + "/" + (lite ? liteModel : model);
     }
 
     /**
-     * Extract and analyze requirements
+     * Build prompt for structured (JSON mode) SRS analysis
      */
-    private String extractRequirements(String documentText) {
-        String prompt = String.format("""
-                Extract all functional and non-functional requirements from this SRS document.
-                Categorize them and identify:
-                - Well-defined requirements
-                - Poorly defined requirements
-                - Missing priority levels
-                - Testability issues
-
-                Document:
-                %s
-
-                List requirements in a structured format.
-                """, documentText);
-
-        return callGeminiAPI(prompt);
+    private String buildStructuredAnalysisPrompt(String documentText) {
+        // Document last, so placeholder-like text inside it is left alone
+        return structuredPromptTemplate
+                .replace("{{criteria}}", String.join(", ", ANALYSIS_CRITERIA))
+                .replace("{{sections}}", String.join(", ", IEEE_830_SECTIONS))
+                .replace("{{document}}", documentText);
     }
 
     /**
-     * Generate improvement suggestions
+     * Response schema for structured analysis (OpenAPI subset accepted by Gemini)
      */
-    private String generateSuggestions(String documentText) {
-        String prompt = String.format("""
-                Based on this SRS document, provide specific recommendations for improvement:
-                - Missing sections to add
-                - Requirements that need clarification
-                - Structural improvements
-                - Best practices to follow
-
-                Document:
-                %s
-
-                Provide actionable suggestions.
-                """, documentText);
-
-        return callGeminiAPI(prompt);
+    private Map<String, Object> buildAnalysisResponseSchema() {
+        Map<String, Object> sectionName = Map.of("type", "STRING", "enum", IEEE_830_SECTIONS);
+        Map<String, Object> criterion = Map.of(
+                "type", "OBJECT",
+                "properties", Map.of(
+                        "name", Map.of("type", "STRING", "enum", ANALYSIS_CRITERIA),
+                        "score", Map.of("type", "INTEGER"),
+                        "comment", Map.of("type", "STRING")),
+                "required", List.of("name", "score"));
+
+        return Map.of(
+                "type", "OBJECT",
+                "properties", Map.of(
+                        "qualityScore", Map.of("type", "INTEGER"),
+                        "criteria", Map.of("type", "ARRAY", "items", criterion),
+                        "presentSections", Map.of("type", "ARRAY", "items", sectionName),
+                        "missingSections", Map.of("type", "ARRAY", "items", sectionName),
+                        "summary", Map.of("type", "STRING")),
+                "required", List.of("qualityScore", "criteria", "missingSections", "summary"));
     }
 
     /**
-     * Call Gemini API with the given prompt
+     * Call Gemini's streamGenerateContent endpoint (SSE framing) in JSON mode, parsing each "data:"
+     * event as it arrives. Returns the complete JSON text; throws on failure.
      */
-    private String callGeminiAPI(String prompt) {
-        try {
-            String url = String.format(
-                    "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent?key=%s",
-                    model, apiKey);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("contents", List.of(
-                    Map.of("parts", List.of(
-                            Map.of("text", prompt)))));
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.POST, entity, Map.class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return extractTextFromResponse(response.getBody());
-            }
-
-            return "Error: Unable to get response from Gemini API";
-        } catch (Exception e) {
-            return "Error analyzing document: " + e.getMessage();
+    private String streamGeminiJson(String modelName, String prompt, Map<String, Object> responseSchema,
+            Consumer<String> onSummaryDelta) {
+        String url = String.format("%s/v1beta/models/%s:streamGenerateContent?alt=sse&key=%s",
+                baseUrl, modelName, apiKey);
+
+        Map<String, Object> requestBody = buildRequestBody(prompt);
+        requestBody.put("generationConfig", Map.of(
+                "responseMimeType", "application/json",
+                "responseSchema", responseSchema));
+
+        String text = restTemplate.execute(url, HttpMethod.POST,
+                request -> {
+                    request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    objectMapper.writeValue(request.getBody(), requestBody);
+                },
+                response -> {
+                    StringBuilder fullText = new StringBuilder();
+                    JsonStringFieldReader summary = new JsonStringFieldReader("summary");
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            String chunkText = extractChunkText(line.substring(5).trim());
+                            if (chunkText == null || chunkText.isEmpty()) {
+                                continue;
+                            }
+                            fullText.append(chunkText);
+                            String delta = summary.feed(chunkText);
+                            if (!delta.isEmpty()) {
+                                onSummaryDelta.accept(delta);
+                            }
+                        }
+                    }
+                    return fullText.toString();
+                });
+        if (text == null || text.isEmpty()) {
+            throw new IllegalStateException("No response text found");
         }
+        return text;
+    }
+
+    private String extractChunkText(String json) throws IOException {
+        return extractCandidateText(objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {}));
     }
 
     /**
-     * Extract text from Gemini API response
+     * First candidate's text, or null when the response carries none
      */
     @SuppressWarnings("unchecked")
-    private String extractTextFromResponse(Map<String, Object> response) {
-        try {
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
-                }
-            }
-        } catch (Exception e) {
-            return "Error parsing response: " + e.getMessage();
+    private String extractCandidateText(Map<String, Object> response) {
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        if (content == null) {
+            return null;
+        }
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+        if (parts == null || parts.isEmpty()) {
+            return null;
         }
-        return "No response text found";
+        return (String) parts.get(0).get("text");
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("contents", List.of(
+                Map.of("parts", List.of(
+                        Map.of("text", prompt)))));
+        return requestBody;
     }
 }
@@ -0,0 +1,106 @@
+package com.sace.service;
+
+import com.sace.entity.IdempotencyKey;
+import com.sace.repository.IdempotencyKeyRepository;
+import com.sace.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key handling for submission requests. A key is reserved before any
+ * download, extraction or analysis happens; a retry with the same key replays the
+ * submission created by the first request instead of repeating the work.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final SubmissionRepository submissionRepository;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.in-flight-timeout-ms:600000}")
+    private long inFlightTimeoutMs;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+            SubmissionRepository submissionRepository) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.submissionRepository = submissionRepository;
+    }
+
+    /**
+     * Reserve a key for a new request.
+     *
+     * @return the submission id to replay if the key already completed, otherwise empty
+     * @throws IllegalArgumentException if the key was used for a different request
+     * @throws IllegalStateException if the original request is still being processed
+     */
+    public Optional<Long> begin(Long userId, String key, String fingerprint) {
+        if (key == null || key.isBlank()) {
+            return Optional.empty();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyKey previous = existing.get();
+            if (!previous.getRequestFingerprint().equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            if (previous.getSubmissionId() != null && submissionRepository.existsById(previous.getSubmissionId())) {
+                log.info("Replaying submission {} for Idempotency-Key {}", previous.getSubmissionId(), key);
+                return Optional.of(previous.getSubmissionId());
+            }
+            boolean abandoned = previous.getSubmissionId() == null
+                    && previous.getCreatedAt().isBefore(LocalDateTime.now().minus(Duration.ofMillis(inFlightTimeoutMs)));
+            if (previous.getSubmissionId() == null && !abandoned) {
+                throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+            }
+            // Original request died mid-flight or its submission was deleted since; start over
+            idempotencyKeyRepository.deleteByUserIdAndKey(userId, key);
+        }
+
+        try {
+            idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(null, userId, key, fingerprint, null, null));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+        return Optional.empty();
+    }
+
+    public void complete(Long userId, String key, Long submissionId) {
+        if (key != null && !key.isBlank()) {
+            idempotencyKeyRepository.markCompleted(userId, key, submissionId);
+        }
+    }
+
+    /**
+     * Drop a reservation after a failed request so the client can retry with the same key
+     */
+    public void release(Long userId, String key) {
+        if (key != null && !key.isBlank()) {
+            idempotencyKeyRepository.deleteByUserIdAndKey(userId, key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sace.service;
+
+/**
+ * Incrementally decodes one top-level string field of a JSON object that arrives in arbitrary
+ * fragments, such as a streamed Gemini JSON-mode response. Each feed returns the field's text that
+ * the fragment completed, so it can be shown before the rest of the object has been generated.
+ * Everything else in the document is skipped; the complete text is parsed separately once it ends.
+ */
+final class JsonStringFieldReader {
+
+    private final String fieldName;
+
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private int unicodeRemaining;
+    private int unicodeValue;
+    private boolean afterColon;
+    private boolean readingKey;
+    private boolean capturing;
+    private String lastKey;
+    private final StringBuilder key = new StringBuilder();
+    // A high surrogate held back until its pair arrives, so a delta never ends mid-character
+    private char pendingHighSurrogate;
+
+    JsonStringFieldReader(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Consume the next fragment; returns the decoded field text it contained, possibly empty
+     */
+    String feed(String fragment) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < fragment.length(); i++) {
+            char c = fragment.charAt(i);
+            if (inString) {
+                readStringChar(c, out);
+            } else {
+                readStructuralChar(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private void readStructuralChar(char c) {
+        switch (c) {
+            case '{', '[' -> {
+                depth++;
+                afterColon = false;
+            }
+            case '}', ']' -> depth--;
+            case ':' -> afterColon = true;
+            case ',' -> afterColon = false;
+            case '"' -> {
+                inString = true;
+                readingKey = depth == 1 && !afterColon;
+                capturing = depth == 1 && afterColon && fieldName.equals(lastKey);
+                key.setLength(0);
+                afterColon = false;
+            }
+            default -> {
+                // Whitespace and scalar values outside strings carry nothing we need
+            }
+        }
+    }
+
+    private void readStringChar(char c, StringBuilder out) {
+        if (unicodeRemaining > 0) {
+            unicodeValue = (unicodeValue << 4) | Character.digit(c, 16);
+            if (--unicodeRemaining == 0) {
+                append((char) unicodeValue, out);
+            }
+        } else if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> append('\n', out);
+                case 't' -> append('\t', out);
+                case 'r' -> append('\r', out);
+                case 'b' -> append('\b', out);
+                case 'f' -> append('\f', out);
+                case 'u' -> {
+                    unicodeRemaining = 4;
+                    unicodeValue = 0;
+                }
+                default -> append(c, out);
+            }
+        } else if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            inString = false;
+            if (readingKey) {
+                lastKey = key.toString();
+            }
+            readingKey = false;
+            capturing = false;
+        } else {
+            append(c, out);
+        }
+    }
+
+    private void append(char c, StringBuilder out) {
+        if (readingKey) {
+            key.append(c);
+            return;
+        }
+        if (!capturing) {
+            return;
+        }
+        if (pendingHighSurrogate != 0) {
+            out.append(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else {
+            out.append(c);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sace.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Word-shingle MinHash signatures. Seeds are fixed so signatures are comparable
+ * across restarts and across nodes.
+ */
+public final class MinHashSignatures {
+
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    public static final int SHINGLE_SIZE = 5;
+
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5ACE5ACEL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private MinHashSignatures() {
+    }
+
+    /**
+     * Hashed word shingles of the normalized text
+     */
+    public static Set<Long> shingles(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        String[] tokens = Arrays.stream(words).filter(w -> !w.isEmpty()).toArray(String[]::new);
+
+        Set<Long> shingles = new HashSet<>();
+        if (tokens.length == 0) {
+            return shingles;
+        }
+        int size = Math.min(SHINGLE_SIZE, tokens.length);
+        for (int i = 0; i + size <= tokens.length; i++) {
+            long hash = 0xcbf29ce484222325L; // FNV-1a 64
+            for (int j = i; j < i + size; j++) {
+                for (int k = 0; k < tokens[j].length(); k++) {
+                    hash ^= tokens[j].charAt(k);
+                    hash *= 0x100000001b3L;
+                }
+                hash ^= ' ';
+                hash *= 0x100000001b3L;
+            }
+            shingles.add(hash);
+        }
+        return shingles;
+    }
+
+    public static int[] signature(Set<Long> shingles) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity: fraction of equal signature slots
+     */
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    public static int bandHash(int[] signature, int band) {
+        int hash = band;
+        int start = band * ROWS_PER_BAND;
+        for (int i = start; i < start + ROWS_PER_BAND; i++) {
+            hash = 31 * hash + signature[i];
+        }
+        return hash;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,243 @@
+package com.sace.service;
+
+import com.sace.dto.SubmissionFile;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * On-demand PNG renders of single PDF pages. Renders run on the bounded previewRenderExecutor
+ * and land in an on-disk cache keyed by (content hash, page, DPI) that is trimmed
+ * least-recently-used first once it exceeds app.preview.cache-max-mb.
+ */
+@Service
+@Slf4j
+public class PagePreviewService {
+
+    private final ThreadPoolTaskExecutor renderExecutor;
+
+    @Value("${app.preview.cache-dir:${user.home}/sace/preview-cache}")
+    private String cacheDir;
+
+    @Value("${app.preview.cache-max-mb:256}")
+    private long cacheMaxMb;
+
+    @Value("${app.preview.min-dpi:36}")
+    private int minDpi;
+
+    @Value("${app.preview.max-dpi:200}")
+    private int maxDpi;
+
+    private Path cacheRoot;
+
+    // Cached file name -> size, in access order; guarded by itself
+    private final LinkedHashMap<String, Long> cacheEntries = new LinkedHashMap<>(256, 0.75f, true);
+    private long cacheBytes;
+
+    // Concurrent requests for the same page share one render
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public PagePreviewService(@Qualifier("previewRenderExecutor") ThreadPoolTaskExecutor renderExecutor) {
+        this.renderExecutor = renderExecutor;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        cacheRoot = Paths.get(cacheDir).toAbsolutePath().normalize();
+        Files.createDirectories(cacheRoot);
+        // Rebuild the LRU order from last access (mtime is bumped on every hit)
+        try (Stream<Path> files = Files.list(cacheRoot)) {
+            files.filter(path -> path.getFileName().toString().endsWith(".png"))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .forEach(path -> {
+                        long size = path.toFile().length();
+                        cacheEntries.put(path.getFileName().toString(), size);
+                        cacheBytes += size;
+                    });
+        }
+        trim();
+        log.info("Opened preview cache at {} with {} pages ({} KB)", cacheRoot, cacheEntries.size(), cacheBytes / 1024);
+    }
+
+    /**
+     * Throws IllegalArgumentException for a non-PDF file, page or DPI out of range
+     */
+    public void validate(SubmissionFile file, int page, int dpi) {
+        if (!"pdf".equalsIgnoreCase(file.getFileType())) {
+            throw new IllegalArgumentException("Previews are only available for PDF submissions");
+        }
+        if (page < 1) {
+            throw new IllegalArgumentException("page must be 1 or greater");
+        }
+        if (dpi < minDpi || dpi > maxDpi) {
+            throw new IllegalArgumentException("dpi must be between " + minDpi + " and " + maxDpi);
+        }
+    }
+
+    public String cacheKey(SubmissionFile file, int page, int dpi) {
+        String document = file.getContentHash() != null ? file.getContentHash() : "submission-" + file.getSubmissionId();
+        return document + "-p" + page + "-" + dpi + "dpi";
+    }
+
+    /**
+     * Path of the rendered page, from the cache when present. Completes exceptionally with
+     * IllegalArgumentException when the page does not exist, and throws RejectedExecutionException
+     * when the render queue is full.
+     */
+    public CompletableFuture<Path> getPreview(SubmissionFile file, int page, int dpi) {
+        validate(file, page, dpi);
+        String key = cacheKey(file, page, dpi);
+        Path cached = lookup(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            renderExecutor.execute(() -> {
+                try {
+                    created.complete(render(file, page, dpi, key));
+                } catch (Exception e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key);
+            throw e;
+        }
+        return created;
+    }
+
+    /**
+     * The rendered page opened for reading. An open stream stays readable if trim() deletes the
+     * file before the response is written; a page evicted between render and open is rendered again.
+     */
+    public CompletableFuture<InputStream> openPreview(SubmissionFile file, int page, int dpi) {
+        return getPreview(file, page, dpi).thenCompose(path -> {
+            try {
+                return CompletableFuture.completedFuture(Files.newInputStream(path));
+            } catch (NoSuchFileException e) {
+                log.debug("Preview {} was evicted before it was served, rendering again", path.getFileName());
+                return getPreview(file, page, dpi).thenApply(this::open);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private InputStream open(Path path) {
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path render(SubmissionFile file, int page, int dpi, String key) throws IOException {
+        long start = System.currentTimeMillis();
+        Path target = cacheRoot.resolve(key + ".png");
+        Path temp = Files.createTempFile(cacheRoot, key, ".tmp");
+        try (InputStream in = file.getResource().getInputStream();
+             PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(in))) {
+            if (page > document.getNumberOfPages()) {
+                throw new IllegalArgumentException("Document has " + document.getNumberOfPages() + " pages");
+            }
+            BufferedImage image = new PDFRenderer(document).renderImageWithDPI(page - 1, dpi, ImageType.RGB);
+            ImageIO.write(image, "png", temp.toFile());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        long size = Files.size(target);
+        synchronized (cacheEntries) {
+            Long previous = cacheEntries.put(target.getFileName().toString(), size);
+            cacheBytes += size - (previous != null ? previous : 0);
+        }
+        trim();
+        log.debug("Rendered {} in {} ms ({} KB)", key, System.currentTimeMillis() - start, size / 1024);
+        return target;
+    }
+
+    private Path lookup(String key) {
+        String fileName = key + ".png";
+        synchronized (cacheEntries) {
+            if (cacheEntries.get(fileName) == null) {
+                return null;
+            }
+        }
+        Path path = cacheRoot.resolve(fileName);
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return path;
+        } catch (IOException e) {
+            // Removed from disk behind our back
+            synchronized (cacheEntries) {
+                Long size = cacheEntries.remove(fileName);
+                cacheBytes -= size != null ? size : 0;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Delete least recently used pages until the cache is under its size cap
+     */
+    private void trim() {
+        long maxBytes = cacheMaxMb * 1024 * 1024;
+        synchronized (cacheEntries) {
+            Iterator<Map.Entry<String, Long>> eldest = cacheEntries.entrySet().iterator();
+            while (cacheBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                try {
+                    Files.deleteIfExists(cacheRoot.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    log.warn("Failed to evict preview {}: {}", entry.getKey(), e.getMessage());
+                }
+                cacheBytes -= entry.getValue();
+                eldest.remove();
+            }
+        }
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
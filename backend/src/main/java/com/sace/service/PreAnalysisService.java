@@ -0,0 +1,153 @@
+package com.sace.service;
+
+import com.sace.dto.PreAnalysisResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap local checks run on extracted text before any Gemini call. Empty, scanned
+ * (image-only) and obviously non-SRS documents skip the LLM entirely; short documents
+ * go to the lite model; everything else gets the full model.
+ * Callers count the decision a submission was finally analyzed with in the
+ * sace.precheck.decisions meter, so retries and re-analysis are not counted twice.
+ */
+@Service
+@Slf4j
+public class PreAnalysisService {
+
+    private static final Set<String> ENGLISH_FUNCTION_WORDS = Set.of(
+            "the", "and", "of", "to", "a", "in", "is", "be", "for", "that", "with", "as", "on",
+            "by", "are", "it", "this", "or", "will", "shall", "must", "should", "can", "from");
+
+    private static final Pattern SRS_TERMS = Pattern.compile(
+            "\\b(shall|requirements?|use cases?|stakeholders?|functional|non-functional|scope|actors?)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    @Value("${app.precheck.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.precheck.min-characters:200}")
+    private int minCharacters;
+
+    @Value("${app.precheck.image-only-chars-per-page:40}")
+    private int imageOnlyCharsPerPage;
+
+    @Value("${app.precheck.min-english-ratio:0.08}")
+    private double minEnglishRatio;
+
+    @Value("${app.precheck.min-srs-terms-per-1000-words:2}")
+    private double minSrsTermsPerThousandWords;
+
+    @Value("${app.precheck.lite-max-words:1500}")
+    private int liteMaxWords;
+
+    private final Map<PreAnalysisResult.Decision, Counter> decisionCounters =
+            new EnumMap<>(PreAnalysisResult.Decision.class);
+
+    public PreAnalysisService(MeterRegistry meterRegistry) {
+        for (PreAnalysisResult.Decision decision : PreAnalysisResult.Decision.values()) {
+            decisionCounters.put(decision, Counter.builder("sace.precheck.decisions")
+                    .description("LLM routing decisions made by the local pre-check")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param pages page count from the extractor, or -1 when unknown
+     */
+    public PreAnalysisResult assess(String text, int pages) {
+        String[] words = text.isBlank() ? new String[0] : text.trim().split("\\s+");
+        int characters = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                characters++;
+            }
+        }
+
+        int englishWords = 0;
+        for (String word : words) {
+            if (ENGLISH_FUNCTION_WORDS.contains(word.toLowerCase(Locale.ROOT).replaceAll("\\W", ""))) {
+                englishWords++;
+            }
+        }
+        double englishRatio = words.length > 0 ? (double) englishWords / words.length : 0;
+
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        long sectionsFound = GeminiService.IEEE_830_SECTIONS.stream()
+                .filter(section -> lowerText.contains(section.toLowerCase(Locale.ROOT)))
+                .count();
+        double sectionCoverage = (double) sectionsFound / GeminiService.IEEE_830_SECTIONS.size();
+
+        int srsTerms = 0;
+        Matcher matcher = SRS_TERMS.matcher(text);
+        while (matcher.find()) {
+            srsTerms++;
+        }
+        double srsTermsPerThousandWords = words.length > 0 ? srsTerms * 1000.0 / words.length : 0;
+
+        PreAnalysisResult.Decision decision;
+        String reason;
+        if (!enabled) {
+            decision = PreAnalysisResult.Decision.FULL;
+            reason = "pre-check disabled";
+        } else if (characters < minCharacters) {
+            decision = PreAnalysisResult.Decision.SKIP;
+            reason = "the document contains almost no extractable text";
+        } else if (pages > 0 && characters / pages < imageOnlyCharsPerPage) {
+            decision = PreAnalysisResult.Decision.SKIP;
+            reason = "the document appears to be scanned images without a text layer";
+        } else if (englishRatio < minEnglishRatio) {
+            // The local detectors are keyword based and English only; let the model judge
+            decision = PreAnalysisResult.Decision.FULL;
+            reason = "text is not English";
+        } else if (sectionCoverage == 0 && srsTermsPerThousandWords < minSrsTermsPerThousandWords) {
+            decision = PreAnalysisResult.Decision.SKIP;
+            reason = "the document does not look like a software requirements specification";
+        } else if (words.length <= liteMaxWords) {
+            decision = PreAnalysisResult.Decision.LITE;
+            reason = "short document";
+        } else {
+            decision = PreAnalysisResult.Decision.FULL;
+            reason = "full analysis";
+        }
+
+        log.info("Pre-check: {} ({}), {} chars, {} words, {} pages, coverage {}, english {}",
+                decision, reason, characters, words.length, pages,
+                String.format(Locale.ROOT, "%.2f", sectionCoverage), String.format(Locale.ROOT, "%.2f", englishRatio));
+
+        return PreAnalysisResult.builder()
+                .decision(decision)
+                .reason(reason)
+                .characters(characters)
+                .words(words.length)
+                .pages(pages)
+                .sectionCoverage(sectionCoverage)
+                .englishRatio(englishRatio)
+                .build();
+    }
+
+    public void recordDecision(PreAnalysisResult result) {
+        decisionCounters.get(result.getDecision()).increment();
+    }
+
+    /**
+     * Decisions since startup; SKIP is the number of Gemini calls avoided
+     */
+    public Map<String, Long> getDecisionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        decisionCounters.forEach((decision, counter) -> counts.put(decision.name(), (long) counter.count()));
+        return counts;
+    }
+}
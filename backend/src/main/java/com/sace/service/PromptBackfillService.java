@@ -0,0 +1,184 @@
+package com.sace.service;
+
+import com.sace.entity.AnalysisJob;
+import com.sace.entity.BackfillCheckpoint;
+import com.sace.repository.AnalysisJobRepository;
+import com.sace.repository.BackfillCheckpointRepository;
+import com.sace.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-analyzes submissions whose analysis came from an older prompt version after
+ * gemini.prompt.version changes. Every app.backfill.interval-ms it tops the queue up to
+ * app.backfill.batch-size BACKFILL jobs, walking submissions in id order from a checkpoint
+ * stored per prompt version. It skips the tick while foreground jobs are waiting, so a prompt
+ * upgrade never competes with student uploads for Gemini quota.
+ */
+@Service
+@Slf4j
+public class PromptBackfillService {
+
+    private static final List<AnalysisJob.JobStatus> ACTIVE =
+            List.of(AnalysisJob.JobStatus.PENDING, AnalysisJob.JobStatus.RUNNING);
+
+    private final SubmissionRepository submissionRepository;
+    private final AnalysisJobRepository jobRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final AnalysisJobScheduler scheduler;
+    private final GeminiService geminiService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private volatile String pausedReason;
+
+    @Value("${app.backfill.enabled:true}")
+    private boolean enabled;
+
+    // Upper bound on queued + running backfill jobs, and so on backfill Gemini calls per interval
+    @Value("${app.backfill.batch-size:5}")
+    private int batchSize;
+
+    // Analyses stored before prompt versions were recorded came from the v1 prompt text, so they
+    // are only re-run when this is set
+    @Value("${app.backfill.include-unversioned:false}")
+    private boolean includeUnversioned;
+
+    // Pause while more than this many student or instructor jobs are due
+    @Value("${app.backfill.max-foreground-due:0}")
+    private long maxForegroundDue;
+
+    public PromptBackfillService(SubmissionRepository submissionRepository,
+            AnalysisJobRepository jobRepository,
+            BackfillCheckpointRepository checkpointRepository,
+            AnalysisJobScheduler scheduler,
+            GeminiService geminiService,
+            PlatformTransactionManager transactionManager) {
+        this.submissionRepository = submissionRepository;
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.scheduler = scheduler;
+        this.geminiService = geminiService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${app.backfill.interval-ms:60000}",
+            initialDelayString = "${app.backfill.initial-delay-ms:120000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        String promptVersion = geminiService.getPromptVersion();
+        BackfillCheckpoint checkpoint = checkpoint(promptVersion);
+        if (checkpoint.getCompletedAt() != null) {
+            return;
+        }
+
+        long due = jobRepository.countDueForeground(LocalDateTime.now());
+        if (due > maxForegroundDue) {
+            pause(due + " foreground analysis jobs are waiting");
+            return;
+        }
+        long outstanding = jobRepository.countByStatusInAndPriorityClass(ACTIVE, AnalysisJob.PriorityClass.BACKFILL);
+        if (outstanding >= batchSize) {
+            pause("previous backfill batch is still running");
+            return;
+        }
+        pausedReason = null;
+
+        int limit = (int) (batchSize - outstanding);
+        transactionTemplate.executeWithoutResult(status -> queueBatch(checkpoint, limit));
+    }
+
+    /**
+     * Queue the next slice after the checkpoint and move the checkpoint past it in one
+     * transaction; if another node moved it first, nothing is queued
+     */
+    private void queueBatch(BackfillCheckpoint checkpoint, int limit) {
+        String promptVersion = checkpoint.getPromptVersion();
+        Long afterId = checkpoint.getLastSubmissionId();
+        List<Object[]> rows = submissionRepository.findOutdatedAnalysesAfter(afterId, promptVersion,
+                includeUnversioned, PageRequest.of(0, limit));
+
+        if (rows.isEmpty()) {
+            if (checkpointRepository.complete(promptVersion, afterId, LocalDateTime.now()) > 0) {
+                log.info("Re-analysis backfill to prompt {} finished after queuing {} submissions",
+                        promptVersion, checkpoint.getQueuedCount());
+            }
+            return;
+        }
+
+        List<Object[]> toQueue = new ArrayList<>();
+        for (Object[] row : rows) {
+            // Already queued or running for another reason; that run records the new version
+            if (!jobRepository.existsBySubmissionIdAndStatusIn((Long) row[0], ACTIVE)) {
+                toQueue.add(row);
+            }
+        }
+
+        Long lastId = (Long) rows.get(rows.size() - 1)[0];
+        if (checkpointRepository.advance(promptVersion, afterId, lastId, toQueue.size()) == 0) {
+            return;
+        }
+        for (Object[] row : toQueue) {
+            scheduler.enqueue((Long) row[0], (Long) row[1], AnalysisJob.PriorityClass.BACKFILL);
+        }
+        log.info("Queued {} submissions for re-analysis with prompt {} (through id {})",
+                toQueue.size(), promptVersion, lastId);
+    }
+
+    public Map<String, Object> getStatus() {
+        String promptVersion = geminiService.getPromptVersion();
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(promptVersion).orElse(null);
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("promptVersion", promptVersion);
+        status.put("enabled", enabled);
+        status.put("outdated", submissionRepository.countOutdatedAnalyses(promptVersion, includeUnversioned));
+        status.put("queued", checkpoint != null ? checkpoint.getQueuedCount() : 0L);
+        status.put("lastSubmissionId", checkpoint != null ? checkpoint.getLastSubmissionId() : 0L);
+        status.put("running", jobRepository.countByStatusInAndPriorityClass(ACTIVE, AnalysisJob.PriorityClass.BACKFILL));
+        status.put("completedAt", checkpoint != null ? checkpoint.getCompletedAt() : null);
+        status.put("pausedReason", pausedReason);
+        return status;
+    }
+
+    private void pause(String reason) {
+        if (!reason.equals(pausedReason)) {
+            log.info("Re-analysis backfill paused: {}", reason);
+        }
+        pausedReason = reason;
+    }
+
+    private BackfillCheckpoint checkpoint(String promptVersion) {
+        return checkpointRepository.findById(promptVersion).orElseGet(() -> {
+            try {
+                newTransaction.executeWithoutResult(status -> {
+                    if (!checkpointRepository.existsById(promptVersion)) {
+                        checkpointRepository.save(new BackfillCheckpoint(promptVersion));
+                        log.info("Starting re-analysis backfill to prompt {}", promptVersion);
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Backfill checkpoint created concurrently: {}", e.getMessage());
+            }
+            return checkpointRepository.findById(promptVersion)
+                    .orElseThrow(() -> new IllegalStateException("Backfill checkpoint missing for " + promptVersion));
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.sace.service;
+
+import com.sace.dto.SimilarSubmissionDTO;
+import com.sace.entity.Submission;
+import com.sace.entity.SubmissionSignature;
+import com.sace.repository.SubmissionRepository;
+import com.sace.repository.SubmissionSignatureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Near-duplicate detection: MinHash signatures in an in-memory LSH index.
+ * A lookup only compares against submissions sharing at least one band bucket,
+ * instead of every submission in the class.
+ */
+@Service
+@Slf4j
+public class SimilarityService {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final SubmissionSignatureRepository signatureRepository;
+    private final SubmissionRepository submissionRepository;
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    private final List<Map<Integer, Set<Long>>> bandBuckets = new ArrayList<>();
+
+    public SimilarityService(SubmissionSignatureRepository signatureRepository,
+            SubmissionRepository submissionRepository) {
+        this.signatureRepository = signatureRepository;
+        this.submissionRepository = submissionRepository;
+        for (int band = 0; band < MinHashSignatures.BANDS; band++) {
+            bandBuckets.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Load persisted signatures, then compute any that are missing (e.g. submissions made before this feature)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        Long afterId = 0L;
+        List<SubmissionSignature> batch;
+        do {
+            batch = signatureRepository.findBatchAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (SubmissionSignature signature : batch) {
+                addToIndex(signature.getSubmissionId(), MinHashSignatures.fromBytes(signature.getSignature()));
+                afterId = signature.getSubmissionId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        int backfilled = 0;
+        afterId = 0L;
+        List<Submission> missing;
+        do {
+            missing = submissionRepository.findBatchWithoutSignatureAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Submission submission : missing) {
+                if (indexSubmission(submission)) {
+                    backfilled++;
+                }
+                afterId = submission.getId();
+            }
+        } while (missing.size() == BATCH_SIZE);
+
+        log.info("Loaded {} similarity signatures ({} newly computed)", signatures.size(), backfilled);
+    }
+
+    /**
+     * Shingle, sign and index a submission after text extraction
+     * @return false when there is no text to sign
+     */
+    public boolean indexSubmission(Submission submission) {
+        String text = submission.getExtractedText();
+        if (text == null || text.isBlank()) {
+            return false;
+        }
+        Set<Long> shingles = MinHashSignatures.shingles(text);
+        if (shingles.isEmpty()) {
+            return false;
+        }
+        int[] signature = MinHashSignatures.signature(shingles);
+        signatureRepository.save(new SubmissionSignature(
+                submission.getId(), MinHashSignatures.toBytes(signature), shingles.size()));
+        addToIndex(submission.getId(), signature);
+        return true;
+    }
+
+    public void remove(Long submissionId) {
+        int[] signature = signatures.remove(submissionId);
+        if (signature != null) {
+            for (int band = 0; band < MinHashSignatures.BANDS; band++) {
+                Set<Long> bucket = bandBuckets.get(band).get(MinHashSignatures.bandHash(signature, band));
+                if (bucket != null) {
+                    bucket.remove(submissionId);
+                }
+            }
+        }
+        signatureRepository.deleteById(submissionId);
+    }
+
+    /**
+     * Submissions whose estimated similarity to the given one is at least the threshold, most similar first
+     */
+    public List<SimilarSubmissionDTO> findSimilar(Long submissionId, double threshold, int limit) {
+        int[] signature = signatures.get(submissionId);
+        if (signature == null) {
+            throw new IllegalArgumentException("No similarity data for submission " + submissionId);
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < MinHashSignatures.BANDS; band++) {
+            Set<Long> bucket = bandBuckets.get(band).get(MinHashSignatures.bandHash(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(submissionId);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            if (other != null) {
+                double similarity = MinHashSignatures.similarity(signature, other);
+                if (similarity >= threshold) {
+                    scores.put(candidate, similarity);
+                }
+            }
+        }
+
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        List<SimilarSubmissionDTO> results = new ArrayList<>();
+        for (Submission submission : submissionRepository.findAllById(ranked)) {
+            results.add(SimilarSubmissionDTO.builder()
+                    .submissionId(submission.getId())
+                    .fileName(submission.getFileName())
+                    .ownerName(submission.getUser().getFirstName() + " " + submission.getUser().getLastName())
+                    .similarity(scores.get(submission.getId()))
+                    .createdAt(submission.getCreatedAt())
+                    .build());
+        }
+        results.sort(Comparator.comparingDouble(SimilarSubmissionDTO::getSimilarity).reversed());
+        return results;
+    }
+
+    private void addToIndex(Long submissionId, int[] signature) {
+        signatures.put(submissionId, signature);
+        for (int band = 0; band < MinHashSignatures.BANDS; band++) {
+            bandBuckets.get(band)
+                    .computeIfAbsent(MinHashSignatures.bandHash(signature, band), key -> ConcurrentHashMap.newKeySet())
+                    .add(submissionId);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sace.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the loader on its own
+ * thread and every caller that arrives while it is in flight waits for, and receives, the
+ * same result or exception. Nothing is kept once the call completes, so this removes duplicate
+ * work only between overlapping calls on one node. Shared results must be treated as read-only.
+ */
+public final class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("sace.singleflight.calls")
+                .description("Calls that ran the loader (leader) or shared an in-flight call (follower)")
+                .tag("flight", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("sace.singleflight.calls")
+                .tag("flight", name)
+                .tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    public <E extends Exception> V execute(K key, Loader<V, E> loader) throws E {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(CompletableFuture<V> future) throws E {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            // The leader's loader could only throw E or unchecked exceptions
+            throw (E) cause;
+        }
+    }
+}
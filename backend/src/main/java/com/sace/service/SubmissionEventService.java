@@ -0,0 +1,273 @@
+package com.sace.service;
+
+import com.sace.config.NodeIdentity;
+import com.sace.dto.SubmissionDTO;
+import com.sace.dto.SubmissionEventDTO;
+import com.sace.entity.ClusterEvent;
+import com.sace.entity.Submission;
+import com.sace.repository.ClusterEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes submission status and analysis events to connected clients over SSE.
+ * Owners receive events for their own submissions; instructors receive all events.
+ * With app.cluster.enabled, events are also written to cluster_events so
+ * ClusterEventRelay can deliver them to subscribers connected to other nodes.
+ * Each subscriber has its own bounded queue, drained on a small shared pool, so events reach a
+ * client in order and a slow client only delays itself; one that falls too far behind is
+ * disconnected and refetches when its EventSource reconnects.
+ */
+@Service
+@Slf4j
+public class SubmissionEventService {
+
+    public static final String CREATED = "CREATED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String ANALYSIS_STARTED = "ANALYSIS_STARTED";
+    public static final String ANALYSIS_DELTA = "ANALYSIS_DELTA";
+    public static final String ANALYSIS_COMPLETED = "ANALYSIS_COMPLETED";
+    public static final String DELETED = "DELETED";
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${app.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${app.events.max-queued-per-subscriber:256}")
+    private int maxQueuedPerSubscriber;
+
+    private final ClusterEventRepository clusterEventRepository;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final ThreadPoolTaskExecutor clusterWriteExecutor;
+    private final String nodeId;
+
+    private final Map<String, Set<Subscriber>> ownerSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> instructorSubscribers = new CopyOnWriteArraySet<>();
+
+    public SubmissionEventService(ClusterEventRepository clusterEventRepository, NodeIdentity nodeIdentity,
+            @Qualifier("eventSendExecutor") ThreadPoolTaskExecutor sendExecutor,
+            @Qualifier("clusterEventWriteExecutor") ThreadPoolTaskExecutor clusterWriteExecutor) {
+        this.clusterEventRepository = clusterEventRepository;
+        this.nodeId = nodeIdentity.getId();
+        this.sendExecutor = sendExecutor;
+        this.clusterWriteExecutor = clusterWriteExecutor;
+    }
+
+    /**
+     * Register a new SSE connection for the given user
+     */
+    public SseEmitter subscribe(String email, boolean instructor) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        // Queued before registration, so it is always the first event the client sees
+        subscriber.enqueue(SseEmitter.event().name("connected").data("ok"));
+        if (instructor) {
+            instructorSubscribers.add(subscriber);
+        } else {
+            ownerSubscribers.compute(email, (key, set) -> {
+                Set<Subscriber> subscribers = set != null ? set : new CopyOnWriteArraySet<>();
+                subscribers.add(subscriber);
+                return subscribers;
+            });
+        }
+
+        Runnable remove = () -> {
+            subscriber.closed = true;
+            if (instructor) {
+                instructorSubscribers.remove(subscriber);
+            } else {
+                // Under the key's lock, so a concurrent subscribe never adds to a set being dropped
+                ownerSubscribers.computeIfPresent(email, (key, set) -> {
+                    set.remove(subscriber);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        log.debug("SSE subscriber registered for {} (instructor: {})", email, instructor);
+        return emitter;
+    }
+
+    public void publish(String type, Submission submission) {
+        SubmissionEventDTO event = SubmissionEventDTO.builder()
+                .type(type)
+                .submissionId(submission.getId())
+                .status(submission.getStatus() != null ? submission.getStatus().name() : null)
+                .fileName(submission.getFileName())
+                .timestamp(LocalDateTime.now())
+                .build();
+        String ownerEmail = submission.getUser() != null ? submission.getUser().getEmail() : null;
+        publish(event, ownerEmail);
+    }
+
+    public void publish(String type, SubmissionDTO submission, String ownerEmail) {
+        publish(SubmissionEventDTO.builder()
+                .type(type)
+                .submissionId(submission.getId())
+                .status(submission.getStatus())
+                .fileName(submission.getFileName())
+                .timestamp(LocalDateTime.now())
+                .build(), ownerEmail);
+    }
+
+    public void publish(SubmissionEventDTO event, String ownerEmail) {
+        if (clusterEnabled) {
+            try {
+                clusterWriteExecutor.execute(() -> writeClusterEvent(event, ownerEmail));
+            } catch (TaskRejectedException e) {
+                log.warn("Cluster event queue full; {} event for submission {} not relayed to other nodes",
+                        event.getType(), event.getSubmissionId());
+            }
+        }
+        deliver(event, ownerEmail);
+    }
+
+    private void writeClusterEvent(SubmissionEventDTO event, String ownerEmail) {
+        try {
+            clusterEventRepository.save(new ClusterEvent(null, event.getType(), event.getSubmissionId(),
+                    event.getStatus(), event.getFileName(), ownerEmail, nodeId, null));
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay {} event for submission {}: {}",
+                    event.getType(), event.getSubmissionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Relay a fragment of an analysis summary while the model generates it. Deltas are only
+     * delivered to subscribers on this node and are not written to cluster_events; subscribers
+     * elsewhere see ANALYSIS_COMPLETED once the result is stored.
+     */
+    public void publishDelta(Submission submission, String delta) {
+        publishLocal(SubmissionEventDTO.builder()
+                .type(ANALYSIS_DELTA)
+                .submissionId(submission.getId())
+                .delta(delta)
+                .timestamp(LocalDateTime.now())
+                .build(), submission.getUser() != null ? submission.getUser().getEmail() : null);
+    }
+
+    /**
+     * Deliver an event that another node already relayed to this node's subscribers only
+     */
+    public void publishLocal(SubmissionEventDTO event, String ownerEmail) {
+        deliver(event, ownerEmail);
+    }
+
+    private void deliver(SubmissionEventDTO event, String ownerEmail) {
+        if (ownerEmail != null) {
+            Set<Subscriber> owners = ownerSubscribers.get(ownerEmail);
+            if (owners != null) {
+                owners.forEach(subscriber -> subscriber.enqueue(event(event)));
+            }
+        }
+        instructorSubscribers.forEach(subscriber -> subscriber.enqueue(event(event)));
+    }
+
+    /**
+     * Keep idle connections alive through proxies
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        ownerSubscribers.values().forEach(set -> set.forEach(subscriber ->
+                subscriber.enqueue(SseEmitter.event().comment("ping"))));
+        instructorSubscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("ping")));
+    }
+
+    // A builder is consumed when sent, so every subscriber gets its own
+    private SseEmitter.SseEventBuilder event(SubmissionEventDTO event) {
+        return SseEmitter.event()
+                .name("submission")
+                .id(event.getSubmissionId() + "-" + event.getType())
+                .data(event);
+    }
+
+    /**
+     * One SSE connection and the events waiting to be sent to it. At most one drain task per
+     * subscriber runs at a time, which keeps its events in order.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueuedPerSubscriber) {
+                queued.decrementAndGet();
+                close(new IllegalStateException("SSE subscriber fell more than "
+                        + maxQueuedPerSubscriber + " events behind"));
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                draining.set(false);
+                close(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close(e);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before draining was cleared would otherwise wait
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(Throwable cause) {
+            closed = true;
+            pending.clear();
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.sace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sace.dto.SubmissionExportRow;
+import com.sace.entity.AnalysisCriterionScore;
+import com.sace.entity.MissingSection;
+import com.sace.repository.AnalysisCriterionScoreRepository;
+import com.sace.repository.MissingSectionRepository;
+import com.sace.repository.SubmissionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams every submission as CSV or NDJSON straight from a database cursor.
+ * Rows are written in chunks; analysis details for a chunk come from two IN queries and the
+ * persistence context is cleared afterwards, so memory stays flat regardless of row count.
+ */
+@Service
+@Slf4j
+public class SubmissionExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final SubmissionRepository submissionRepository;
+    private final AnalysisCriterionScoreRepository criterionScoreRepository;
+    private final MissingSectionRepository missingSectionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SubmissionExportService(SubmissionRepository submissionRepository,
+            AnalysisCriterionScoreRepository criterionScoreRepository,
+            MissingSectionRepository missingSectionRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.submissionRepository = submissionRepository;
+        this.criterionScoreRepository = criterionScoreRepository;
+        this.missingSectionRepository = missingSectionRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write all submissions to out and return the number of rows written
+     */
+    public long export(OutputStream out, Format format, boolean includeAnalysis) {
+        Long rows = readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<SubmissionExportRow> stream = submissionRepository.streamExportRows()) {
+                if (format == Format.CSV) {
+                    writeCsvHeader(writer, includeAnalysis);
+                }
+                long written = 0;
+                List<SubmissionExportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+                Iterator<SubmissionExportRow> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                        writeChunk(writer, chunk, format, includeAnalysis);
+                        written += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                writer.flush();
+                return written;
+            } catch (IOException e) {
+                // Client went away mid-download
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private void writeChunk(Writer writer, List<SubmissionExportRow> chunk, Format format, boolean includeAnalysis)
+            throws IOException {
+        Map<Long, Map<String, Integer>> scores = new HashMap<>();
+        Map<Long, List<String>> missing = new HashMap<>();
+        if (includeAnalysis) {
+            List<Long> ids = chunk.stream().map(SubmissionExportRow::getId).toList();
+            for (AnalysisCriterionScore score : criterionScoreRepository.findBySubmissionIdIn(ids)) {
+                scores.computeIfAbsent(score.getSubmission().getId(), id -> new HashMap<>())
+                        .put(score.getCriterion(), score.getScore());
+            }
+            for (MissingSection section : missingSectionRepository.findBySubmissionIdIn(ids)) {
+                missing.computeIfAbsent(section.getSubmission().getId(), id -> new ArrayList<>())
+                        .add(section.getSectionName());
+            }
+            // Child rows are only needed for this chunk
+            entityManager.clear();
+        }
+
+        for (SubmissionExportRow row : chunk) {
+            Map<String, Integer> rowScores = scores.getOrDefault(row.getId(), Map.of());
+            List<String> rowMissing = missing.getOrDefault(row.getId(), List.of());
+            if (format == Format.CSV) {
+                writeCsvRow(writer, row, includeAnalysis, rowScores, rowMissing);
+            } else {
+                writeJsonRow(writer, row, includeAnalysis, rowScores, rowMissing);
+            }
+        }
+        // Push each chunk to the client rather than buffering the whole export
+        writer.flush();
+    }
+
+    private void writeCsvHeader(Writer writer, boolean includeAnalysis) throws IOException {
+        List<String> columns = new ArrayList<>(List.of("id", "student_name", "student_email", "file_name",
+                "file_type", "file_size", "status", "submitted_at", "updated_at"));
+        if (includeAnalysis) {
+            columns.add("analysis_status");
+            columns.add("quality_score");
+            for (String criterion : GeminiService.ANALYSIS_CRITERIA) {
+                columns.add("score_" + criterion.toLowerCase(Locale.ROOT).replaceAll("[^a-z]+", "_"));
+            }
+            columns.add("missing_sections");
+        }
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+    }
+
+    private void writeCsvRow(Writer writer, SubmissionExportRow row, boolean includeAnalysis,
+            Map<String, Integer> scores, List<String> missing) throws IOException {
+        List<Object> values = new ArrayList<>(List.of(
+                row.getId(),
+                studentName(row),
+                nullToEmpty(row.getStudentEmail()),
+                nullToEmpty(row.getFileName()),
+                nullToEmpty(row.getFileType()),
+                row.getFileSize() != null ? row.getFileSize() : "",
+                row.getStatus() != null ? row.getStatus().name() : "",
+                row.getCreatedAt() != null ? row.getCreatedAt().toString() : "",
+                row.getUpdatedAt() != null ? row.getUpdatedAt().toString() : ""));
+        if (includeAnalysis) {
+            values.add(row.getAnalysisStatus() != null ? row.getAnalysisStatus().name() : "");
+            values.add(row.getQualityScore() != null ? row.getQualityScore() : "");
+            for (String criterion : GeminiService.ANALYSIS_CRITERIA) {
+                Integer score = scores.get(criterion);
+                values.add(score != null ? score : "");
+            }
+            values.add(String.join("; ", missing));
+        }
+
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJsonRow(Writer writer, SubmissionExportRow row, boolean includeAnalysis,
+            Map<String, Integer> scores, List<String> missing) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", row.getId());
+        json.put("studentName", studentName(row));
+        json.put("studentEmail", row.getStudentEmail());
+        json.put("fileName", row.getFileName());
+        json.put("fileType", row.getFileType());
+        json.put("fileSize", row.getFileSize());
+        json.put("status", row.getStatus());
+        json.put("submittedAt", row.getCreatedAt());
+        json.put("updatedAt", row.getUpdatedAt());
+        if (includeAnalysis) {
+            json.put("analysisStatus", row.getAnalysisStatus());
+            json.put("qualityScore", row.getQualityScore());
+            json.put("criteria", scores);
+            json.put("missingSections", missing);
+        }
+        writer.write(objectMapper.writeValueAsString(json));
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180 quoting, plus a leading apostrophe on text that a spreadsheet would run as a formula
+     */
+    private String csvField(Object value) {
+        String text = String.valueOf(value);
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private String studentName(SubmissionExportRow row) {
+        return (nullToEmpty(row.getStudentFirstName()) + " " + nullToEmpty(row.getStudentLastName())).trim();
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
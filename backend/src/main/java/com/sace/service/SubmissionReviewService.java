@@ -0,0 +1,213 @@
+package com.sace.service;
+
+import com.sace.dto.BulkStatusUpdateRequest;
+import com.sace.dto.BulkStatusUpdateResult;
+import com.sace.dto.BulkStatusUpdateResult.ItemResult;
+import com.sace.dto.BulkStatusUpdateResult.Outcome;
+import com.sace.dto.SubmissionEventDTO;
+import com.sace.dto.SubmissionStatusRow;
+import com.sace.entity.Submission;
+import com.sace.repository.SubmissionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies instructor status changes to many submissions in one request: one SELECT for the
+ * current state of every id, then one JDBC batch of version-guarded UPDATEs. A row whose
+ * version moved since it was read, or since the client last saw it, is reported as a conflict
+ * instead of being overwritten.
+ */
+@Service
+@Slf4j
+public class SubmissionReviewService {
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE submissions SET status = ?, version = version + 1, updated_at = ?
+            WHERE id = ? AND version = ?
+            """;
+
+    @Value("${app.review.bulk-max-items:500}")
+    private int maxItems;
+
+    private final SubmissionRepository submissionRepository;
+    private final AnalyticsService analyticsService;
+    private final SubmissionEventService eventService;
+    private final SubmissionSearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private record PendingUpdate(int index, SubmissionStatusRow row, Submission.SubmissionStatus target) {
+    }
+
+    public SubmissionReviewService(SubmissionRepository submissionRepository,
+            AnalyticsService analyticsService,
+            SubmissionEventService eventService,
+            SubmissionSearchService searchService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.submissionRepository = submissionRepository;
+        this.analyticsService = analyticsService;
+        this.eventService = eventService;
+        this.searchService = searchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkStatusUpdateResult updateStatuses(BulkStatusUpdateRequest request) {
+        List<BulkStatusUpdateRequest.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " items can be updated per request");
+        }
+
+        ItemResult[] results = new ItemResult[items.size()];
+        Map<Long, Integer> indexById = new LinkedHashMap<>();
+        Map<Integer, Submission.SubmissionStatus> targets = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkStatusUpdateRequest.Item item = items.get(i);
+            Long id = item != null ? item.getId() : null;
+            if (id == null) {
+                results[i] = result(null, Outcome.INVALID, null, "id is required");
+                continue;
+            }
+            if (indexById.containsKey(id)) {
+                results[i] = result(id, Outcome.INVALID, null, "Duplicate id in request");
+                continue;
+            }
+            String status = item.getStatus() != null ? item.getStatus() : request.getStatus();
+            Submission.SubmissionStatus target = parseStatus(status);
+            if (target == null) {
+                results[i] = result(id, Outcome.INVALID, null, "Invalid status: " + status
+                        + ". Valid statuses are: SUBMITTED, UNDER_REVIEW, APPROVED, REJECTED");
+                continue;
+            }
+            indexById.put(id, i);
+            targets.put(i, target);
+        }
+
+        Map<Long, SubmissionStatusRow> rows = indexById.isEmpty() ? Map.of()
+                : submissionRepository.findStatusRowsByIdIn(indexById.keySet()).stream()
+                        .collect(Collectors.toMap(SubmissionStatusRow::getId, Function.identity()));
+
+        List<PendingUpdate> pending = new ArrayList<>();
+        indexById.forEach((id, index) -> {
+            SubmissionStatusRow row = rows.get(id);
+            Submission.SubmissionStatus target = targets.get(index);
+            Long expectedVersion = items.get(index).getVersion();
+            if (row == null) {
+                results[index] = result(id, Outcome.NOT_FOUND, null, "Submission not found");
+            } else if (expectedVersion != null && !expectedVersion.equals(row.getVersion())) {
+                results[index] = result(id, Outcome.CONFLICT, row, "Submission was modified by another reviewer");
+            } else if (row.getStatus() == target) {
+                results[index] = result(id, Outcome.UNCHANGED, row, null);
+            } else {
+                pending.add(new PendingUpdate(index, row, target));
+            }
+        });
+
+        // Set explicitly rather than CURRENT_TIMESTAMP so the search index can record the stored
+        // value; truncated to the column's precision so the two compare equal
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<PendingUpdate> applied = pending.isEmpty() ? List.of() : applyBatch(pending, results, now);
+
+        for (PendingUpdate update : applied) {
+            searchService.touch(update.row().getId(), now);
+            eventService.publish(SubmissionEventDTO.builder()
+                    .type(SubmissionEventService.STATUS_CHANGED)
+                    .submissionId(update.row().getId())
+                    .status(update.target().name())
+                    .fileName(update.row().getFileName())
+                    .timestamp(now)
+                    .build(), update.row().getOwnerEmail());
+        }
+
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        for (ItemResult result : results) {
+            outcomes.merge(result.getOutcome(), 1, Integer::sum);
+        }
+        log.info("Bulk status update of {} submissions: {}", items.size(), outcomes);
+
+        return BulkStatusUpdateResult.builder()
+                .requested(items.size())
+                .outcomes(outcomes)
+                .items(List.of(results))
+                .build();
+    }
+
+    /**
+     * Run the versioned UPDATEs as one JDBC batch and adjust the status aggregates in the same
+     * transaction; rows that matched no version are conflicts with a concurrent change
+     */
+    private List<PendingUpdate> applyBatch(List<PendingUpdate> pending, ItemResult[] results, LocalDateTime updatedAt) {
+        return transactionTemplate.execute(tx -> {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, pending, pending.size(), (ps, update) -> {
+                ps.setString(1, update.target().name());
+                ps.setTimestamp(2, Timestamp.valueOf(updatedAt));
+                ps.setLong(3, update.row().getId());
+                ps.setLong(4, update.row().getVersion());
+            });
+
+            List<PendingUpdate> applied = new ArrayList<>();
+            Map<Submission.SubmissionStatus, Long> deltas = new EnumMap<>(Submission.SubmissionStatus.class);
+            for (int i = 0; i < pending.size(); i++) {
+                PendingUpdate update = pending.get(i);
+                SubmissionStatusRow row = update.row();
+                if (counts[0][i] == 1) {
+                    applied.add(update);
+                    deltas.merge(row.getStatus(), -1L, Long::sum);
+                    deltas.merge(update.target(), 1L, Long::sum);
+                    results[update.index()] = ItemResult.builder()
+                            .id(row.getId())
+                            .outcome(Outcome.UPDATED)
+                            .status(update.target().name())
+                            .version(row.getVersion() + 1)
+                            .build();
+                } else {
+                    results[update.index()] = result(row.getId(), Outcome.CONFLICT, null,
+                            "Submission was modified by another reviewer");
+                }
+            }
+            analyticsService.recordStatusChanges(deltas);
+            return applied;
+        });
+    }
+
+    private Submission.SubmissionStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Submission.SubmissionStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ItemResult result(Long id, Outcome outcome, SubmissionStatusRow row, String message) {
+        return ItemResult.builder()
+                .id(id)
+                .outcome(outcome)
+                .status(row != null ? row.getStatus().name() : null)
+                .version(row != null ? row.getVersion() : null)
+                .message(message)
+                .build();
+    }
+}
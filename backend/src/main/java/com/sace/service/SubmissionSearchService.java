@@ -0,0 +1,309 @@
+package com.sace.service;
+
+import com.sace.dto.SearchHitDTO;
+import com.sace.dto.SearchResultDTO;
+import com.sace.entity.Submission;
+import com.sace.entity.User;
+import com.sace.repository.SubmissionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedded Lucene index over extracted text, file names and owner names.
+ * Updated incrementally on create/delete and reconciled with the database on startup;
+ * searches use a near-real-time reader.
+ */
+@Service
+@Slf4j
+public class SubmissionSearchService {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_FILE_NAME = "fileName";
+    private static final String FIELD_OWNER = "owner";
+    // Doc values rather than a stored field, so a status change can update it in place
+    private static final String FIELD_UPDATED_AT = "updatedAtMillis";
+    private static final int REBUILD_BATCH_SIZE = 200;
+    private static final int RECONCILE_BATCH_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SubmissionRepository submissionRepository;
+
+    @Value("${app.search.index-dir:${user.home}/sace/search-index}")
+    private String indexDir;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public SubmissionSearchService(SubmissionRepository submissionRepository) {
+        this.submissionRepository = submissionRepository;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexDir));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        log.info("Opened search index at {} with {} documents", indexDir, writer.getDocStats().numDocs);
+    }
+
+    /**
+     * Bring the on-disk index in line with the database: a restarted node may have missed
+     * changes made elsewhere while it was down, or lost its last uncommitted changes. Documents
+     * record the submission's updatedAt, so only new, changed and deleted submissions are touched;
+     * an empty or deleted index directory is rebuilt in full the same way.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() throws IOException {
+        Map<Long, Long> indexed = indexedVersions();
+        List<Long> stale = new ArrayList<>();
+        Long afterId = 0L;
+        List<Object[]> batch;
+        do {
+            batch = submissionRepository.findIdAndUpdatedAtAfter(afterId, PageRequest.of(0, RECONCILE_BATCH_SIZE));
+            for (Object[] row : batch) {
+                afterId = (Long) row[0];
+                Long version = indexed.remove(afterId);
+                if (version == null || version != updatedAtMillis((LocalDateTime) row[1])) {
+                    stale.add(afterId);
+                }
+            }
+        } while (batch.size() == RECONCILE_BATCH_SIZE);
+
+        // Whatever is left in the index no longer exists in the database
+        for (Long deletedId : indexed.keySet()) {
+            writer.deleteDocuments(new Term(FIELD_ID, deletedId.toString()));
+        }
+        for (int from = 0; from < stale.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> ids = stale.subList(from, Math.min(from + REBUILD_BATCH_SIZE, stale.size()));
+            submissionRepository.findWithUserByIdIn(ids).forEach(this::index);
+        }
+        searcherManager.maybeRefresh();
+        commit();
+        log.info("Reconciled search index with database: {} submissions reindexed, {} removed",
+                stale.size(), indexed.size());
+    }
+
+    /**
+     * Submission id -> indexed updatedAt of every live document; documents written before
+     * updatedAt was kept as doc values map to -1 so they are reindexed once
+     */
+    private Map<Long, Long> indexedVersions() throws IOException {
+        Map<Long, Long> versions = new HashMap<>();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                LeafReader reader = leaf.reader();
+                Bits liveDocs = reader.getLiveDocs();
+                StoredFields storedFields = reader.storedFields();
+                NumericDocValues updatedAt = reader.getNumericDocValues(FIELD_UPDATED_AT);
+                for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    Document document = storedFields.document(doc, Set.of(FIELD_ID));
+                    versions.put(Long.valueOf(document.get(FIELD_ID)),
+                            updatedAt != null && updatedAt.advanceExact(doc) ? updatedAt.longValue() : -1L);
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return versions;
+    }
+
+    public void index(Submission submission) {
+        try {
+            Document doc = new Document();
+            doc.add(new StringField(FIELD_ID, submission.getId().toString(), Field.Store.YES));
+            doc.add(new TextField(FIELD_FILE_NAME, nullToEmpty(submission.getFileName()), Field.Store.YES));
+            doc.add(new TextField(FIELD_OWNER, ownerName(submission.getUser()), Field.Store.YES));
+            doc.add(new NumericDocValuesField(FIELD_UPDATED_AT, updatedAtMillis(submission.getUpdatedAt())));
+            // Stored (Lucene compresses stored fields) so hits can be highlighted without a DB round trip
+            doc.add(new TextField(FIELD_CONTENT, nullToEmpty(submission.getExtractedText()), Field.Store.YES));
+            writer.updateDocument(new Term(FIELD_ID, submission.getId().toString()), doc);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to index submission {}: {}", submission.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Record a new updated_at for a change that leaves the indexed fields as they are (a status
+     * change), so reconcile does not reindex the submission on the next start. A submission
+     * that is not indexed is left alone.
+     */
+    public void touch(Long submissionId, LocalDateTime updatedAt) {
+        try {
+            writer.updateNumericDocValue(new Term(FIELD_ID, submissionId.toString()),
+                    FIELD_UPDATED_AT, updatedAtMillis(updatedAt));
+        } catch (IOException e) {
+            log.error("Failed to update indexed version of submission {}: {}", submissionId, e.getMessage());
+        }
+    }
+
+    public void delete(Long submissionId) {
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, submissionId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to remove submission {} from search index: {}", submissionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Ranked, highlighted, paginated search
+     */
+    public SearchResultDTO search(String queryText, int page, int size) throws IOException {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long start = System.currentTimeMillis();
+        Query query = parse(queryText);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, (page + 1) * size);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            int from = Math.min(page * size, scoreDocs.length);
+
+            ScoreDoc[] pageDocs = new ScoreDoc[scoreDocs.length - from];
+            System.arraycopy(scoreDocs, from, pageDocs, 0, pageDocs.length);
+            TopDocs pageTopDocs = new TopDocs(topDocs.totalHits, pageDocs);
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withMaxLength(Integer.MAX_VALUE - 1)
+                    .build();
+            String[] highlights = highlighter.highlight(FIELD_CONTENT, query, pageTopDocs, 3);
+
+            List<SearchHitDTO> hits = new ArrayList<>();
+            for (int i = 0; i < pageDocs.length; i++) {
+                Document doc = searcher.storedFields().document(pageDocs[i].doc,
+                        Set.of(FIELD_ID, FIELD_FILE_NAME, FIELD_OWNER));
+                hits.add(SearchHitDTO.builder()
+                        .submissionId(Long.valueOf(doc.get(FIELD_ID)))
+                        .fileName(doc.get(FIELD_FILE_NAME))
+                        .ownerName(doc.get(FIELD_OWNER))
+                        .score(pageDocs[i].score)
+                        .highlight(highlights[i])
+                        .build());
+            }
+
+            return SearchResultDTO.builder()
+                    .query(queryText)
+                    .page(page)
+                    .size(size)
+                    .totalHits(topDocs.totalHits.value)
+                    .tookMs(System.currentTimeMillis() - start)
+                    .hits(hits)
+                    .build();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Periodic durable commit; NRT refresh already makes changes visible to searches
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[] { FIELD_CONTENT, FIELD_FILE_NAME, FIELD_OWNER },
+                analyzer,
+                Map.of(FIELD_CONTENT, 1.0f, FIELD_FILE_NAME, 2.0f, FIELD_OWNER, 1.5f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                // Fall back to treating the input as plain terms
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + queryText);
+            }
+        }
+    }
+
+    private String ownerName(User user) {
+        if (user == null) {
+            return "";
+        }
+        return (nullToEmpty(user.getFirstName()) + " " + nullToEmpty(user.getLastName())).trim();
+    }
+
+    private static long updatedAtMillis(LocalDateTime updatedAt) {
+        return updatedAt != null ? Timestamp.valueOf(updatedAt).getTime() : 0L;
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
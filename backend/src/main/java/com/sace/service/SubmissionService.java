@@ -1,32 +1,49 @@
 package com.sace.service;
 
+import com.sace.dto.PreAnalysisResult;
+import com.sace.dto.SRSAnalysisResult;
 import com.sace.dto.SubmissionDTO;
+import com.sace.dto.SubmissionFile;
+import com.sace.entity.AnalysisCriterionScore;
+import com.sace.entity.MissingSection;
 import com.sace.entity.Submission;
 import com.sace.entity.User;
+import com.sace.repository.AnalysisCriterionScoreRepository;
+import com.sace.repository.AnalysisJobRepository;
+import com.sace.repository.MissingSectionRepository;
 import com.sace.repository.SubmissionRepository;
-import com.sace.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
 import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,22 +51,64 @@ import java.util.stream.Collectors;
 public class SubmissionService {
 
     private final SubmissionRepository submissionRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final AnalysisCriterionScoreRepository criterionScoreRepository;
+    private final MissingSectionRepository missingSectionRepository;
+    private final AnalysisJobRepository analysisJobRepository;
+    private final AnalysisJobScheduler analysisJobScheduler;
     private final GeminiService geminiService;
-
-    @Value("${app.upload.dir:${user.home}/sace/uploads}")
-    private String uploadDir;
+    private final SubmissionEventService eventService;
+    private final AnalyticsService analyticsService;
+    private final SubmissionSearchService searchService;
+    private final SimilarityService similarityService;
+    private final IdempotencyService idempotencyService;
+    private final PreAnalysisService preAnalysisService;
+    private final FileStorage fileStorage;
+    private final SingleFlight<String, ExtractedText> extractionFlight;
+    private final SingleFlight<String, SRSAnalysisResult> analysisFlight;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.submission.dedup-window-minutes:10}")
+    private long dedupWindowMinutes;
 
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int MAX_PAGE_SIZE = 100;
     private static final List<String> ALLOWED_TYPES = List.of("pdf", "docx");
 
     // Manual constructor
     public SubmissionService(SubmissionRepository submissionRepository,
-            UserRepository userRepository,
-            GeminiService geminiService) {
+            UserService userService,
+            AnalysisCriterionScoreRepository criterionScoreRepository,
+            MissingSectionRepository missingSectionRepository,
+            AnalysisJobRepository analysisJobRepository,
+            AnalysisJobScheduler analysisJobScheduler,
+            GeminiService geminiService,
+            SubmissionEventService eventService,
+            AnalyticsService analyticsService,
+            SubmissionSearchService searchService,
+            SimilarityService similarityService,
+            IdempotencyService idempotencyService,
+            PreAnalysisService preAnalysisService,
+            FileStorage fileStorage,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager) {
         this.submissionRepository = submissionRepository;
-        this.userRepository = userRepository;
+        this.userService = userService;
+        this.criterionScoreRepository = criterionScoreRepository;
+        this.missingSectionRepository = missingSectionRepository;
+        this.analysisJobRepository = analysisJobRepository;
+        this.analysisJobScheduler = analysisJobScheduler;
         this.geminiService = geminiService;
+        this.eventService = eventService;
+        this.analyticsService = analyticsService;
+        this.searchService = searchService;
+        this.similarityService = similarityService;
+        this.idempotencyService = idempotencyService;
+        this.preAnalysisService = preAnalysisService;
+        this.fileStorage = fileStorage;
+        this.extractionFlight = new SingleFlight<>("extraction", meterRegistry);
+        this.analysisFlight = new SingleFlight<>("analysis", meterRegistry);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     private User getCurrentUser() {
@@ -59,11 +118,11 @@ public class SubmissionService {
         }
 
         String email = authentication.getName();
-        return userRepository.findByEmail(email)
+        return userService.findByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("User not found: " + email));
     }
 
-    public SubmissionDTO uploadFile(User user, MultipartFile file) throws IOException {
+    public SubmissionDTO uploadFile(User user, MultipartFile file, String idempotencyKey) throws IOException {
         // If user is null from controller, get from SecurityContext
         if (user == null) {
             user = getCurrentUser();
@@ -71,39 +130,68 @@ public class SubmissionService {
 
         validateFile(file);
 
-        String fileName = file.getOriginalFilename();
-        String fileType = FilenameUtils.getExtension(fileName).toLowerCase();
-        String storedFileName = System.currentTimeMillis() + "_" + fileName;
-        Path filePath = Paths.get(uploadDir, storedFileName);
+        String contentHash;
+        try (InputStream in = file.getInputStream()) {
+            contentHash = sha256Hex(in);
+        }
 
-        // Ensure upload directory exists
-        Files.createDirectories(filePath.getParent());
+        Optional<Long> replayed = idempotencyService.begin(user.getId(), idempotencyKey, "upload:" + contentHash);
+        if (replayed.isPresent()) {
+            return loadDTO(replayed.get());
+        }
 
-        // Save file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            Optional<Submission> duplicate = findRecentDuplicate(user, contentHash, null);
+            Submission saved = duplicate.isPresent()
+                    ? duplicate.get()
+                    : storeUpload(user, file, contentHash);
+            idempotencyService.complete(user.getId(), idempotencyKey, saved.getId());
+            return convertToDTO(saved);
+        } catch (IOException | RuntimeException e) {
+            idempotencyService.release(user.getId(), idempotencyKey);
+            throw e;
+        }
+    }
 
-        // Extract text
-        String extractedText = extractText(filePath.toFile(), fileType);
+    private Submission storeUpload(User user, MultipartFile file, String contentHash) throws IOException {
+        String fileName = file.getOriginalFilename();
+        String fileType = FilenameUtils.getExtension(fileName).toLowerCase();
 
-        // Analyze with Gemini AI
-        String sectionAnalysis = analyzeWithGemini(extractedText);
+        // Save file
+        String storageKey;
+        try (InputStream in = file.getInputStream()) {
+            storageKey = fileStorage.store(fileName, in);
+        }
 
-        // Create submission
+        // Create submission; extraction and analysis run on the job queue
         Submission submission = new Submission();
         submission.setUser(user);
         submission.setFileName(fileName);
-        submission.setFilePath(filePath.toString());
+        submission.setFilePath(storageKey);
         submission.setFileType(fileType.toUpperCase());
         submission.setFileSize(file.getSize());
         submission.setStatus(Submission.SubmissionStatus.SUBMITTED);
-        submission.setExtractedText(extractedText);
-        submission.setSectionAnalysis(sectionAnalysis);
+        submission.setContentHash(contentHash);
+        submission.setAnalysisStatus(Submission.AnalysisStatus.PENDING);
+
+        Submission saved = saveNew(submission);
+        analysisJobScheduler.enqueueSubmission(user, saved.getId());
+        eventService.publish(SubmissionEventService.CREATED, saved);
+        return saved;
+    }
 
-        Submission saved = submissionRepository.save(submission);
-        return convertToDTO(saved);
+    /**
+     * Insert a new submission and count it in the aggregates in one transaction
+     */
+    private Submission saveNew(Submission submission) {
+        return transactionTemplate.execute(tx -> {
+            Submission saved = submissionRepository.save(submission);
+            analyticsService.recordSubmissionCreated(saved, -1, -1);
+            return saved;
+        });
     }
 
-    public SubmissionDTO uploadGoogleDriveLink(User user, String driveLink) {
+    public SubmissionDTO uploadGoogleDriveLink(User user, String driveLink, String idempotencyKey) {
         // If user is null from controller, get from SecurityContext
         if (user == null) {
             user = getCurrentUser();
@@ -116,77 +204,290 @@ public class SubmissionService {
             throw new IllegalArgumentException("Invalid Google Drive link");
         }
 
-        // Try to extract content from Google Drive link
-        String extractedText = "";
-        String sectionAnalysis = "";
-        String fileName = "Google Drive Document";
-
-        try {
-            // Convert Google Drive link to export URL
-            String fileId = extractFileIdFromDriveLink(driveLink);
+        String fileId = extractFileIdFromDriveLink(driveLink);
+        String fingerprint = "link:" + (fileId != null ? fileId : driveLink);
 
-            if (fileId != null) {
-                log.info("Extracted file ID: {}", fileId);
+        Optional<Long> replayed = idempotencyService.begin(user.getId(), idempotencyKey, fingerprint);
+        if (replayed.isPresent()) {
+            return loadDTO(replayed.get());
+        }
 
-                // Try to download and extract text from the file
-                Path tempFile = null;
-                try {
-                    // Download file to temporary location
-                    tempFile = downloadGoogleDriveFile(fileId);
-
-                    if (tempFile != null && Files.exists(tempFile)) {
-                        // Detect file type from content or use generic
-                        String fileType = detectFileType(tempFile);
-                        fileName = "Google Drive - " + fileId + "." + fileType.toLowerCase();
-
-                        // Extract text using existing methods (needs lowercase file type)
-                        extractedText = extractText(tempFile.toFile(), fileType.toLowerCase());
-                        log.info("Extracted {} characters from Google Drive file", extractedText.length());
-
-                        if (!extractedText.isEmpty()) {
-                            // Analyze with Gemini AI
-                            log.info("Analyzing content with Gemini AI...");
-                            sectionAnalysis = analyzeWithGemini(extractedText);
-                            log.info("Gemini AI analysis completed");
-                        } else {
-                            sectionAnalysis = "Unable to extract text from the document. The file may be empty or in an unsupported format.";
-                        }
-                    } else {
-                        sectionAnalysis = "Unable to download file from Google Drive. Please ensure the link is publicly accessible (Anyone with the link can view).";
-                    }
-                } finally {
-                    // Clean up temporary file
-                    if (tempFile != null && Files.exists(tempFile)) {
-                        try {
-                            Files.delete(tempFile);
-                        } catch (IOException e) {
-                            log.warn("Failed to delete temporary file: {}", tempFile, e);
-                        }
-                    }
-                }
-            } else {
-                log.warn("Could not extract file ID from Drive link");
-                sectionAnalysis = "Invalid Google Drive link format. Please check the link and try again.";
-            }
-        } catch (Exception e) {
-            log.error("Error processing Google Drive link: {}", e.getMessage(), e);
-            sectionAnalysis = "Unable to process Google Drive link. Please ensure the link is publicly accessible (Anyone with the link can view) or upload the file directly. Error: "
-                    + e.getMessage();
+        try {
+            // Same Drive file submitted again within the window: skip the download entirely
+            Optional<Submission> duplicate = fileId != null
+                    ? findRecentDuplicate(user, null, fileId)
+                    : Optional.empty();
+            Submission saved = duplicate.isPresent()
+                    ? duplicate.get()
+                    : createLinkSubmission(user, driveLink, fileId);
+            idempotencyService.complete(user.getId(), idempotencyKey, saved.getId());
+            return convertToDTO(saved);
+        } catch (RuntimeException e) {
+            idempotencyService.release(user.getId(), idempotencyKey);
+            throw e;
         }
+    }
 
+    private Submission createLinkSubmission(User user, String driveLink, String fileId) {
         Submission submission = new Submission();
         submission.setUser(user);
-        submission.setFileName(fileName);
+        submission.setFileName("Google Drive Document");
         submission.setFilePath(driveLink);
         submission.setFileType("LINK");
         submission.setFileSize(0L);
         submission.setStatus(Submission.SubmissionStatus.SUBMITTED);
         submission.setGoogleDriveLink(driveLink);
-        submission.setExtractedText(extractedText);
-        submission.setSectionAnalysis(sectionAnalysis);
+        submission.setDriveFileId(fileId);
+
+        if (fileId == null) {
+            log.warn("Could not extract file ID from Drive link");
+            submission.setExtractedText("");
+            submission.setSectionAnalysis("Invalid Google Drive link format. Please check the link and try again.");
+            submission.setAnalysisStatus(Submission.AnalysisStatus.FAILED);
+        } else {
+            log.info("Extracted file ID: {}", fileId);
+            submission.setAnalysisStatus(Submission.AnalysisStatus.PENDING);
+        }
+
+        Submission saved = saveNew(submission);
+        if (fileId != null) {
+            // Download, extraction and analysis run on the job queue
+            analysisJobScheduler.enqueueSubmission(user, saved.getId());
+        } else {
+            searchService.index(saved);
+        }
+        eventService.publish(SubmissionEventService.CREATED, saved);
+        return saved;
+    }
+
+    /**
+     * Extraction and analysis for a queued submission, run by AnalysisJobService workers.
+     * Extracted text is persisted before analysis, so a retry only repeats the Gemini call.
+     * Throws to request a retry; returns false when the final attempt had to fall back to
+     * local section detection.
+     */
+    public boolean processSubmission(Long submissionId, boolean finalAttempt) throws IOException {
+        Optional<Submission> found = submissionRepository.findWithUserById(submissionId);
+        if (found.isEmpty()) {
+            log.info("Submission {} was deleted before its analysis job ran", submissionId);
+            return true;
+        }
+        Submission submission = found.get();
+        eventService.publish(SubmissionEventService.ANALYSIS_STARTED, submission);
+        // Retries and re-analysis backfills repeat the pre-check but must not count its decision again
+        boolean firstAnalysis = submission.getSectionAnalysis() == null;
+
+        long extractionMs = -1;
+        if (submission.getExtractedText() == null) {
+            long extractionStart = System.currentTimeMillis();
+            ExtractedText extracted;
+            if ("LINK".equals(submission.getFileType())) {
+                extracted = extractFromDrive(submission);
+            } else {
+                extracted = extractStoredFile(submission);
+            }
+            submission.setExtractedText(extracted.text());
+            submission.setPageCount(extracted.pages() >= 0 ? extracted.pages() : null);
+            extractionMs = System.currentTimeMillis() - extractionStart;
+            log.info("Extracted {} characters for submission {}", submission.getExtractedText().length(), submissionId);
+            if (submissionRepository.updateExtraction(submissionId, submission.getExtractedText(),
+                    submission.getPageCount(), submission.getFileName(), submission.getContentHash()) == 0) {
+                return true;
+            }
+        }
+
+        String extractedText = submission.getExtractedText();
+        int pages = submission.getPageCount() != null ? submission.getPageCount() : -1;
+        if (extractedText.isBlank()) {
+            if (firstAnalysis) {
+                preAnalysisService.recordDecision(preAnalysisService.assess(extractedText, pages));
+            }
+            completeAnalysis(submission, null,
+                    "Unable to extract text from the document. The file may be empty or in an unsupported format.",
+                    Submission.AnalysisStatus.FAILED, null, extractionMs, -1);
+            return true;
+        }
+
+        PreAnalysisResult precheck = preAnalysisService.assess(extractedText, pages);
+        if (precheck.getDecision() == PreAnalysisResult.Decision.SKIP) {
+            // Not worth a model call; keep the local section detection so missing-section stats stay complete
+            SRSAnalysisResult local = detectSectionsResult(extractedText);
+            if (firstAnalysis) {
+                preAnalysisService.recordDecision(precheck);
+            }
+            completeAnalysis(submission, local, "Skipped AI analysis: " + precheck.getReason() + ".",
+                    Submission.AnalysisStatus.COMPLETED, null, extractionMs, -1);
+            return true;
+        }
+
+        SRSAnalysisResult analysis;
+        boolean analyzed = true;
+        long analysisStart = System.currentTimeMillis();
+        try {
+            log.info("Analyzing submission {} with Gemini AI ({})", submissionId, precheck.getDecision());
+            // Structured (JSON mode) analysis so scores and missing sections can be queried
+            analysis = analyzeShared(submission, extractedText,
+                    precheck.getDecision() == PreAnalysisResult.Decision.LITE);
+        } catch (RuntimeException e) {
+            if (!finalAttempt) {
+                throw e;
+            }
+            log.error("Error analyzing with Gemini AI: {}", e.getMessage());
+            // Out of retries: fall back to basic section detection
+            analysis = detectSectionsResult(extractedText);
+            analyzed = false;
+        }
+        long analysisMs = System.currentTimeMillis() - analysisStart;
+
+        if (firstAnalysis) {
+            preAnalysisService.recordDecision(precheck);
+        }
+        completeAnalysis(submission, analysis, analysis.getSummary(), Submission.AnalysisStatus.COMPLETED,
+                analyzed ? geminiService.getPromptVersion() : null, extractionMs, analysisMs);
+        return analyzed;
+    }
+
+    /**
+     * Extract a stored upload; concurrent jobs for identical bytes share one extraction
+     */
+    private ExtractedText extractStoredFile(Submission submission) throws IOException {
+        String fileType = submission.getFileType().toLowerCase();
+        if (submission.getContentHash() == null) {
+            return extractStoredFile(submission.getFilePath(), fileType);
+        }
+        return extractionFlight.execute(submission.getContentHash() + ":" + fileType,
+                () -> extractStoredFile(submission.getFilePath(), fileType));
+    }
+
+    private ExtractedText extractStoredFile(String storageKey, String fileType) throws IOException {
+        try (InputStream in = fileStorage.open(storageKey)) {
+            return extractText(in, fileType);
+        }
+    }
+
+    /**
+     * Structured analysis; concurrent jobs for the same content, prompt version and model share
+     * one Gemini call, so a team uploading the same SRS at once costs a single request. The job
+     * that makes the call relays the summary to subscribers as ANALYSIS_DELTA events while it is
+     * generated; jobs sharing the call only see ANALYSIS_COMPLETED.
+     */
+    private SRSAnalysisResult analyzeShared(Submission submission, String extractedText, boolean lite) {
+        Consumer<String> relay = delta -> eventService.publishDelta(submission, delta);
+        if (submission.getContentHash() == null) {
+            return geminiService.analyzeSRSStructured(extractedText, lite, relay);
+        }
+        String key = submission.getContentHash() + ":" + geminiService.structuredAnalysisVersion(lite);
+        return analysisFlight.execute(key, () -> geminiService.analyzeSRSStructured(extractedText, lite, relay));
+    }
+
+    /**
+     * Record a dead-lettered job's failure on the submission so the owner sees why analysis stopped
+     */
+    public void markAnalysisFailed(Long submissionId, Exception cause) {
+        submissionRepository.findWithUserById(submissionId).ifPresent(submission ->
+                completeAnalysis(submission, null, "Analysis failed: " + cause.getMessage(),
+                        Submission.AnalysisStatus.FAILED, null, -1, -1));
+    }
+
+    /**
+     * promptVersion is the structured prompt that produced the analysis, null when no model ran.
+     * The result, its detail rows and the aggregates commit together; the search index, similarity
+     * index and subscribers only see the submission as re-read after that commit.
+     */
+    private void completeAnalysis(Submission submission, SRSAnalysisResult analysis, String sectionAnalysis,
+            Submission.AnalysisStatus analysisStatus, String promptVersion, long extractionMs, long analysisMs) {
+        Integer qualityScore = analysis != null ? analysis.getQualityScore() : null;
+        boolean stored = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            if (submissionRepository.updateAnalysisResult(submission.getId(), sectionAnalysis, qualityScore,
+                    analysisStatus, promptVersion) == 0) {
+                return false;
+            }
+            analyticsService.recordProcessing(extractionMs, analysisMs);
+            if (analysis != null) {
+                saveAnalysisDetails(submission, analysis);
+            }
+            return true;
+        }));
+        if (!stored) {
+            return;
+        }
+
+        // Re-read so the index records the updated_at the database now holds
+        submissionRepository.findWithUserById(submission.getId()).ifPresent(updated -> {
+            searchService.index(updated);
+            similarityService.indexSubmission(updated);
+            eventService.publish(SubmissionEventService.ANALYSIS_COMPLETED, updated);
+        });
+    }
+
+    /**
+     * Download a Drive submission and extract its text; throws so the job is retried
+     */
+    private ExtractedText extractFromDrive(Submission submission) throws IOException {
+        String fileId = submission.getDriveFileId();
+        Path tempFile = downloadGoogleDriveFile(fileId);
+        if (tempFile == null || !Files.exists(tempFile)) {
+            throw new IOException("Unable to download file from Google Drive. "
+                    + "Please ensure the link is publicly accessible (Anyone with the link can view).");
+        }
+        try {
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                submission.setContentHash(sha256Hex(in));
+            }
+
+            // Detect file type from content or use generic
+            String fileType = detectFileType(tempFile);
+            submission.setFileName("Google Drive - " + fileId + "." + fileType.toLowerCase());
+
+            // Extract text using existing methods (needs lowercase file type)
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                return extractText(in, fileType.toLowerCase());
+            }
+        } finally {
+            // Clean up temporary file
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary file: {}", tempFile, e);
+            }
+        }
+    }
+
+    /**
+     * Latest submission by this user with the same content hash or Drive file id inside the dedup window
+     */
+    private Optional<Submission> findRecentDuplicate(User user, String contentHash, String driveFileId) {
+        if (dedupWindowMinutes <= 0) {
+            return Optional.empty();
+        }
+        LocalDateTime since = LocalDateTime.now().minusMinutes(dedupWindowMinutes);
+        Optional<Submission> duplicate = contentHash != null
+                ? submissionRepository.findFirstByUserAndContentHashAndCreatedAtAfterOrderByIdDesc(user, contentHash, since)
+                : submissionRepository.findFirstByUserAndDriveFileIdAndAnalysisStatusNotAndCreatedAtAfterOrderByIdDesc(
+                        user, driveFileId, Submission.AnalysisStatus.FAILED, since);
+        duplicate.ifPresent(existing -> log.info("Duplicate submission from {}, returning existing submission {}",
+                user.getEmail(), existing.getId()));
+        return duplicate;
+    }
 
-        Submission saved = submissionRepository.save(submission);
-        return convertToDTO(saved);
+    private SubmissionDTO loadDTO(Long submissionId) {
+        return submissionRepository.findById(submissionId)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + submissionId));
+    }
+
+    private String sha256Hex(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -305,6 +606,18 @@ public class SubmissionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lightweight list: JPQL projection that never reads extractedText or sectionAnalysis
+     */
+    public List<SubmissionDTO> getUserSubmissionSummaries(User user) {
+        // If user is null from controller, get from SecurityContext
+        if (user == null) {
+            user = getCurrentUser();
+        }
+
+        return submissionRepository.findSummariesByUser(user);
+    }
+
     public List<SubmissionDTO> getAllSubmissions() {
         // Get all submissions for instructors
         return submissionRepository.findAll().stream()
@@ -312,7 +625,17 @@ public class SubmissionService {
                 .collect(Collectors.toList());
     }
 
-    public Optional<SubmissionDTO> getSubmissionById(User user, Long id) {
+    public List<SubmissionDTO> getAllSubmissionSummaries() {
+        return submissionRepository.findAllSummaries();
+    }
+
+    /**
+     * Owners can read their own submissions, instructors any submission
+     */
+    public Optional<SubmissionDTO> getSubmissionById(User user, Long id, boolean instructor) {
+        if (instructor) {
+            return submissionRepository.findById(id).map(this::convertToDTO);
+        }
         // If user is null from controller, get from SecurityContext
         if (user == null) {
             user = getCurrentUser();
@@ -322,6 +645,60 @@ public class SubmissionService {
                 .map(this::convertToDTO);
     }
 
+    public Optional<SubmissionDTO> getSubmissionSummaryById(User user, Long id, boolean instructor) {
+        if (instructor) {
+            return submissionRepository.findSummaryById(id);
+        }
+        // If user is null from controller, get from SecurityContext
+        if (user == null) {
+            user = getCurrentUser();
+        }
+
+        return submissionRepository.findSummaryByUserAndId(user, id);
+    }
+
+    /**
+     * Last-modified time of a submission, read without loading its text; used for ETag checks
+     */
+    public Optional<LocalDateTime> getSubmissionUpdatedAt(User user, Long id, boolean instructor) {
+        if (instructor) {
+            return submissionRepository.findUpdatedAtById(id);
+        }
+        // If user is null from controller, get from SecurityContext
+        if (user == null) {
+            user = getCurrentUser();
+        }
+
+        return submissionRepository.findUpdatedAtByUserAndId(user, id);
+    }
+
+    /**
+     * Original uploaded document; owners can fetch their own, instructors any submission.
+     * Empty when the submission does not exist, is not visible to the caller or is a Drive link.
+     */
+    public Optional<SubmissionFile> getSubmissionFile(User user, Long id, boolean instructor) throws IOException {
+        // If user is null from controller, get from SecurityContext
+        if (user == null) {
+            user = getCurrentUser();
+        }
+
+        Optional<Submission> found = submissionRepository.findWithUserById(id);
+        // Drive submissions keep the link in filePath; there is no stored file to serve
+        if (found.isEmpty() || found.get().getFilePath() == null || "LINK".equals(found.get().getFileType())
+                || (!instructor && !found.get().getUser().getId().equals(user.getId()))) {
+            return Optional.empty();
+        }
+        Submission submission = found.get();
+        return Optional.of(SubmissionFile.builder()
+                .submissionId(submission.getId())
+                .fileName(submission.getFileName())
+                .fileType(submission.getFileType())
+                .contentHash(submission.getContentHash())
+                .createdAt(submission.getCreatedAt())
+                .resource(fileStorage.loadAsResource(submission.getFilePath()))
+                .build());
+    }
+
     public void deleteSubmission(User user, Long id) {
         // If user is null from controller, get from SecurityContext
         if (user == null) {
@@ -331,15 +708,24 @@ public class SubmissionService {
         Optional<Submission> submission = submissionRepository.findByUserAndId(user, id);
         if (submission.isPresent()) {
             Submission sub = submission.get();
-            // Delete file if it exists
+            // The row, its jobs and the aggregates commit together
+            transactionTemplate.executeWithoutResult(tx -> {
+                List<String> missingSections = missingSectionNames(sub.getId());
+                analysisJobRepository.deleteBySubmissionId(sub.getId());
+                submissionRepository.delete(sub);
+                analyticsService.recordSubmissionDeleted(sub, missingSections);
+            });
+            // Delete file if it exists, only once the row is gone
             if (sub.getFilePath() != null && !sub.getFileType().equals("LINK")) {
                 try {
-                    Files.deleteIfExists(Paths.get(sub.getFilePath()));
+                    fileStorage.delete(sub.getFilePath());
                 } catch (IOException e) {
                     log.warn("Failed to delete file: {}", sub.getFilePath(), e);
                 }
             }
-            submissionRepository.delete(sub);
+            searchService.delete(sub.getId());
+            similarityService.remove(sub.getId());
+            eventService.publish(SubmissionEventService.DELETED, sub);
         }
     }
 
@@ -358,17 +744,22 @@ public class SubmissionService {
         }
     }
 
-    private String extractText(File file, String fileType) throws IOException {
+    /**
+     * Extracted text plus page count (-1 when the format has no fixed pages)
+     */
+    private record ExtractedText(String text, int pages) {
+    }
+
+    private ExtractedText extractText(InputStream in, String fileType) throws IOException {
         if ("pdf".equals(fileType)) {
-            try (PDDocument document = Loader.loadPDF(file)) {
+            try (PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(in))) {
                 PDFTextStripper stripper = new PDFTextStripper();
-                return stripper.getText(document);
+                return new ExtractedText(stripper.getText(document), document.getNumberOfPages());
             }
         } else if ("docx".equals(fileType)) {
-            try (FileInputStream fis = new FileInputStream(file);
-                    XWPFDocument document = new XWPFDocument(fis)) {
+            try (XWPFDocument document = new XWPFDocument(in)) {
                 XWPFWordExtractor extractor = new XWPFWordExtractor(document);
-                return extractor.getText();
+                return new ExtractedText(extractor.getText(), -1);
             }
         } else {
             throw new IllegalArgumentException("Unsupported file type: " + fileType);
@@ -377,11 +768,7 @@ public class SubmissionService {
 
     private String detectSections(String text) {
         // Basic regex-based section detection for IEEE 830
-        String[] sections = {
-                "Introduction", "Overall Description", "Specific Requirements",
-                "Functional Requirements", "Non-Functional Requirements",
-                "External Interface Requirements", "Appendices"
-        };
+        List<String> sections = GeminiService.IEEE_830_SECTIONS;
 
         StringBuilder analysis = new StringBuilder();
         analysis.append("{");
@@ -401,39 +788,136 @@ public class SubmissionService {
     }
 
     /**
-     * Analyze SRS document using Gemini AI
+     * Local fallback: section detection only, no scores
      */
-    private String analyzeWithGemini(String extractedText) {
-        try {
-            log.info("Analyzing document with Gemini AI");
+    private SRSAnalysisResult detectSectionsResult(String text) {
+        String lowerText = text.toLowerCase();
+        SRSAnalysisResult result = new SRSAnalysisResult();
+        for (String section : GeminiService.IEEE_830_SECTIONS) {
+            if (lowerText.contains(section.toLowerCase())) {
+                result.getPresentSections().add(section);
+            } else {
+                result.getMissingSections().add(section);
+            }
+        }
+        result.setSummary(detectSections(text));
+        return result;
+    }
 
-            // Use Gemini service for comprehensive analysis
-            String analysis = geminiService.analyzeSRS(extractedText);
+    /**
+     * Replace the per-criterion scores and missing-section rows for a submission; runs inside
+     * completeAnalysis's transaction
+     */
+    private void saveAnalysisDetails(Submission submission, SRSAnalysisResult analysis) {
+        List<String> previousMissing = missingSectionNames(submission.getId());
+        criterionScoreRepository.deleteBySubmissionId(submission.getId());
+        missingSectionRepository.deleteBySubmissionId(submission.getId());
+
+        List<AnalysisCriterionScore> scores = new ArrayList<>();
+        for (SRSAnalysisResult.CriterionScore criterion : analysis.getCriteria()) {
+            if (criterion.getName() != null && criterion.getScore() != null) {
+                scores.add(new AnalysisCriterionScore(null, submission,
+                        criterion.getName(), criterion.getScore(), criterion.getComment()));
+            }
+        }
+        criterionScoreRepository.saveAll(scores);
 
-            log.info("Gemini AI analysis completed successfully");
-            return analysis;
+        List<MissingSection> missing = new ArrayList<>();
+        for (String section : analysis.getMissingSections()) {
+            missing.add(new MissingSection(null, submission, section));
+        }
+        missingSectionRepository.saveAll(missing);
+        analyticsService.recordMissingSectionsChanged(previousMissing, analysis.getMissingSections());
+    }
 
-        } catch (Exception e) {
-            log.error("Error analyzing with Gemini AI: {}", e.getMessage());
-            // Fallback to basic section detection if Gemini fails
-            return detectSections(extractedText);
+    private List<String> missingSectionNames(Long submissionId) {
+        return missingSectionRepository.findBySubmissionId(submissionId).stream()
+                .map(MissingSection::getSectionName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cross-submission analysis aggregates for instructors, answered with SQL GROUP BY
+     */
+    public Map<String, Object> getAnalysisSummary() {
+        List<Map<String, Object>> missingSections = new ArrayList<>();
+        for (Object[] row : missingSectionRepository.countBySection()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("section", row[0]);
+            entry.put("count", row[1]);
+            missingSections.add(entry);
+        }
+
+        List<Map<String, Object>> criteria = new ArrayList<>();
+        for (Object[] row : criterionScoreRepository.averageScoreByCriterion()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("criterion", row[0]);
+            entry.put("averageScore", row[1]);
+            entry.put("count", row[2]);
+            criteria.add(entry);
         }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("averageQualityScore", submissionRepository.averageQualityScore());
+        summary.put("missingSections", missingSections);
+        summary.put("criteria", criteria);
+        return summary;
     }
 
-    public SubmissionDTO updateSubmissionStatus(Long submissionId, String status) {
-        Submission submission = submissionRepository.findById(submissionId)
+    /**
+     * One page of summary rows, newest first, for submissions whose analysis reports the given
+     * IEEE 830 section as missing
+     */
+    public List<SubmissionDTO> getSubmissionsMissingSection(String sectionName, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return submissionRepository.findSummariesMissingSection(sectionName, PageRequest.of(page, size));
+    }
+
+    /**
+     * Change a submission's status if it is still at the version the reviewer saw (or, without
+     * one, the version just read); the row and the status aggregates move together or not at all
+     */
+    public SubmissionDTO updateSubmissionStatus(Long submissionId, String status, Long expectedVersion) {
+        // Summary projection + targeted UPDATE: a status change never reads the document text
+        SubmissionDTO current = submissionRepository.findSummaryById(submissionId)
                 .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + submissionId));
 
+        Submission.SubmissionStatus newStatus;
         try {
-            Submission.SubmissionStatus newStatus = Submission.SubmissionStatus.valueOf(status.toUpperCase());
-            submission.setStatus(newStatus);
-            Submission updatedSubmission = submissionRepository.save(submission);
-            log.info("Updated submission {} status to {}", submissionId, status);
-            return convertToDTO(updatedSubmission);
+            newStatus = Submission.SubmissionStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException(
                     "Invalid status: " + status + ". Valid statuses are: SUBMITTED, UNDER_REVIEW, APPROVED, REJECTED");
         }
+
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new IllegalStateException("Submission was modified by another reviewer");
+        }
+        Submission.SubmissionStatus oldStatus = Submission.SubmissionStatus.valueOf(current.getStatus());
+        if (oldStatus == newStatus) {
+            return current;
+        }
+
+        boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+            if (submissionRepository.updateStatusIfVersion(submissionId, newStatus, current.getVersion()) == 0) {
+                return false;
+            }
+            analyticsService.recordStatusChange(oldStatus, newStatus);
+            return true;
+        }));
+        if (!applied) {
+            throw new IllegalStateException("Submission was modified by another reviewer");
+        }
+        log.info("Updated submission {} status to {}", submissionId, status);
+
+        SubmissionDTO updated = submissionRepository.findSummaryById(submissionId)
+                .orElseThrow(() -> new IllegalArgumentException("Submission not found with id: " + submissionId));
+        searchService.touch(submissionId, updated.getUpdatedAt());
+        eventService.publish(SubmissionEventService.STATUS_CHANGED, updated,
+                submissionRepository.findOwnerEmailById(submissionId).orElse(null));
+        return updated;
     }
 
     private SubmissionDTO convertToDTO(Submission submission) {
@@ -447,6 +931,9 @@ public class SubmissionService {
                 submission.getCreatedAt(),
                 submission.getUpdatedAt(),
                 submission.getExtractedText(),
-                submission.getSectionAnalysis());
+                submission.getSectionAnalysis(),
+                submission.getQualityScore(),
+                submission.getAnalysisStatus() != null ? submission.getAnalysisStatus().name() : null,
+                submission.getVersion());
     }
 }
\ No newline at end of file
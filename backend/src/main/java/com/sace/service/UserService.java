@@ -1,16 +1,20 @@
 package com.sace.service;
 
+import com.sace.config.CacheConfig;
 import com.sace.dto.LoginRequest;
 import com.sace.dto.SignupRequest;
 import com.sace.entity.User;
 import com.sace.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
@@ -21,8 +25,22 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Lookup keys a user is cached under
+     */
+    private record CacheKeys(Long id, String email, String googleId) {
+        static CacheKeys of(User user) {
+            return new CacheKeys(user.getId(), user.getEmail(), user.getGoogleId());
+        }
+    }
+
+    // No surrounding transaction: a connection must not be held while waiting for the hashing pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User signup(SignupRequest signupRequest) {
         if (!signupRequest.getPassword().equals(signupRequest.getPasswordConfirm())) {
             throw new IllegalArgumentException("Passwords do not match");
@@ -36,7 +54,7 @@ public class UserService {
             .firstName(signupRequest.getFirstName())
             .lastName(signupRequest.getLastName())
             .email(signupRequest.getEmail())
-            .password(passwordEncoder.encode(signupRequest.getPassword()))
+            .password(passwordHashingService.encode(signupRequest.getPassword()))
             .provider("LOCAL")
             .role(signupRequest.getRole() != null ? signupRequest.getRole() : "STUDENT")
             .build();
@@ -44,34 +62,69 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<User> login(LoginRequest loginRequest) {
         Optional<User> user = userRepository.findByEmail(loginRequest.getEmail());
         
-        if (user.isPresent() && passwordEncoder.matches(loginRequest.getPassword(), user.get().getPassword())) {
+        if (user.isPresent() && passwordHashingService.matches(loginRequest.getPassword(), user.get().getPassword())) {
+            User found = user.get();
+            if (passwordHashingService.needsRehash(found.getPassword())) {
+                String oldHash = found.getPassword();
+                passwordHashingService.rehashInBackground(loginRequest.getPassword(), newHash -> {
+                    if (userRepository.updatePasswordIfUnchanged(found.getId(), oldHash, newHash) > 0) {
+                        evict(CacheKeys.of(found));
+                        log.info("Rehashed password for user {} at the current work factor", found.getId());
+                    }
+                });
+            }
             return user;
         }
         
         return Optional.empty();
     }
 
+    /**
+     * Cached lookup; the result is a copy, and may be stale by up to the cache TTL. Code that
+     * modifies and saves the user should load it with findByEmailUncached instead.
+     */
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return cached(CacheConfig.USERS_BY_EMAIL, email, () -> userRepository.findByEmail(email));
     }
 
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return cached(CacheConfig.USERS_BY_ID, id, () -> userRepository.findById(id));
+    }
+
+    /**
+     * Current row from the database, for read-modify-save paths
+     */
+    public Optional<User> findByEmailUncached(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+    public Optional<User> findByGoogleIdUncached(String googleId) {
+        return userRepository.findByGoogleId(googleId);
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        return saveUser(user);
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        // Keys as stored before this save; the email or Google ID may be changing
+        Optional<CacheKeys> previous = user.getId() != null
+            ? userRepository.findById(user.getId()).map(CacheKeys::of)
+            : Optional.empty();
+        try {
+            return userRepository.save(user);
+        } finally {
+            previous.ifPresent(this::evict);
+            evict(CacheKeys.of(user));
+        }
     }
 
     public Optional<User> findByGoogleId(String googleId) {
-        return userRepository.findByGoogleId(googleId);
+        return cached(CacheConfig.USERS_BY_GOOGLE_ID, googleId, () -> userRepository.findByGoogleId(googleId));
     }
 
     /**
@@ -80,7 +133,7 @@ public class UserService {
      * @return Optional<User>
      */
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return findById(id);
     }
 
     /**
@@ -88,7 +141,39 @@ public class UserService {
      * @param id User ID
      */
     public void deleteUser(Long id) {
+        Optional<CacheKeys> keys = userRepository.findById(id).map(CacheKeys::of);
         userRepository.deleteById(id);
+        keys.ifPresent(this::evict);
         log.info("Deleted user with ID: {}", id);
     }
+
+    /**
+     * Read-through lookup that never hands out the cached instance: entries are shared by every
+     * request, so each caller gets its own copy and editing it cannot change what others read
+     */
+    private Optional<User> cached(String cacheName, Object key, Supplier<Optional<User>> loader) {
+        Cache cache = key != null ? cacheManager.getCache(cacheName) : null;
+        User cachedUser = cache != null ? cache.get(key, User.class) : null;
+        if (cachedUser != null) {
+            return Optional.of(cachedUser.toBuilder().build());
+        }
+        Optional<User> user = loader.get();
+        if (cache != null) {
+            user.ifPresent(found -> cache.put(key, found.toBuilder().build()));
+        }
+        return user;
+    }
+
+    private void evict(CacheKeys keys) {
+        evict(CacheConfig.USERS_BY_ID, keys.id());
+        evict(CacheConfig.USERS_BY_EMAIL, keys.email());
+        evict(CacheConfig.USERS_BY_GOOGLE_ID, keys.googleId());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
 }
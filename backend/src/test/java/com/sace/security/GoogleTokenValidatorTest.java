@@ -0,0 +1,238 @@
+package com.sace.security;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Signature and claim checks against a JWKS endpoint served in-process from a test RSA key pair
+ */
+class GoogleTokenValidatorTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String ISSUER = "https://accounts.google.com";
+
+    private final Map<String, KeyPair> publishedKeys = new LinkedHashMap<>();
+    private final AtomicInteger jwksFetches = new AtomicInteger();
+    private HttpServer jwksServer;
+    private GoogleJwksCache jwksCache;
+    private GoogleTokenValidator validator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksFetches.incrementAndGet();
+            byte[] body = jwks().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        jwksServer.start();
+
+        jwksCache = new GoogleJwksCache();
+        ReflectionTestUtils.setField(jwksCache, "jwksUri",
+                "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/certs");
+        ReflectionTestUtils.setField(jwksCache, "defaultTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(jwksCache, "minRefreshIntervalSeconds", 30L);
+
+        validator = new GoogleTokenValidator(jwksCache);
+        ReflectionTestUtils.setField(validator, "clientId", CLIENT_ID);
+        ReflectionTestUtils.setField(validator, "clockSkewSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void acceptsValidToken() {
+        KeyPair key = publish("key-1");
+
+        GoogleTokenValidator.GoogleTokenInfo info = validator.verifyToken(token(key, "key-1").compact());
+
+        assertThat(info.getSub()).isEqualTo("google-user-1");
+        assertThat(info.getEmail()).isEqualTo("student@example.com");
+        assertThat(info.getIssuer()).isEqualTo(ISSUER);
+        assertThat(jwksFetches).hasValue(1);
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        KeyPair key = publish("key-1");
+        String token = token(key, "key-1").audience().single("someone-else.apps.googleusercontent.com").compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        KeyPair key = publish("key-1");
+        String token = token(key, "key-1").issuer("https://evil.example.com").compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("issuer");
+    }
+
+    @Test
+    void rejectsExpiredTokenBeyondClockSkew() {
+        KeyPair key = publish("key-1");
+        Instant issued = Instant.now().minus(Duration.ofHours(2));
+        String token = token(key, "key-1")
+                .issuedAt(Date.from(issued))
+                .expiration(Date.from(Instant.now().minus(Duration.ofMinutes(10))))
+                .compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKeyUnderAPublishedKid() {
+        publish("key-1");
+        String token = token(generateKeyPair(), "key-1").compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMissingKidWithoutFetchingKeys() {
+        KeyPair key = publish("key-1");
+        String token = Jwts.builder()
+                .issuer(ISSUER)
+                .audience().add(CLIENT_ID).and()
+                .subject("google-user-1")
+                .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(key.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("key id");
+        assertThat(jwksFetches).hasValue(0);
+    }
+
+    @Test
+    void unknownKidRefreshesKeysAfterRotation() {
+        ReflectionTestUtils.setField(jwksCache, "minRefreshIntervalSeconds", 0L);
+        KeyPair first = publish("key-1");
+        validator.verifyToken(token(first, "key-1").compact());
+
+        // Google rotates: the new key is published and tokens start naming it
+        KeyPair rotated = publish("key-2");
+        GoogleTokenValidator.GoogleTokenInfo info = validator.verifyToken(token(rotated, "key-2").compact());
+
+        assertThat(info.getSub()).isEqualTo("google-user-1");
+        assertThat(jwksFetches).hasValue(2);
+    }
+
+    @Test
+    void unknownKidRefreshIsThrottledByMinimumInterval() {
+        KeyPair first = publish("key-1");
+        validator.verifyToken(token(first, "key-1").compact());
+        assertThat(jwksFetches).hasValue(1);
+
+        // A forged kid within the minimum refresh interval must not trigger another download
+        String forged = token(generateKeyPair(), "forged-kid").compact();
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> validator.verifyToken(forged))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unknown signing key");
+        }
+        assertThat(jwksFetches).hasValue(1);
+
+        // Cached keys keep working without a fetch
+        validator.verifyToken(token(first, "key-1").compact());
+        assertThat(jwksFetches).hasValue(1);
+    }
+
+    @Test
+    void unknownKidOnColdCacheFetchesOnce() {
+        publish("key-1");
+        String token = token(generateKeyPair(), "not-published").compact();
+
+        assertThatThrownBy(() -> validator.verifyToken(token)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> validator.verifyToken(token)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jwksFetches).hasValue(1);
+    }
+
+    private JwtBuilder token(KeyPair key, String kid) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer(ISSUER)
+                .audience().add(CLIENT_ID).and()
+                .subject("google-user-1")
+                .claim("email", "student@example.com")
+                .claim("email_verified", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(Duration.ofHours(1))))
+                .signWith(key.getPrivate(), Jwts.SIG.RS256);
+    }
+
+    private KeyPair publish(String kid) {
+        KeyPair key = generateKeyPair();
+        publishedKeys.put(kid, key);
+        return key;
+    }
+
+    private String jwks() {
+        return publishedKeys.entrySet().stream()
+                .map(entry -> {
+                    RSAPublicKey publicKey = (RSAPublicKey) entry.getValue().getPublic();
+                    return String.format(
+                            "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"%s\",\"n\":\"%s\",\"e\":\"%s\"}",
+                            entry.getKey(), base64Url(publicKey.getModulus()), base64Url(publicKey.getPublicExponent()));
+                })
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // JWK integers are unsigned; drop the sign byte BigInteger adds
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
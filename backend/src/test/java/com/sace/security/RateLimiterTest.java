@@ -0,0 +1,137 @@
+package com.sace.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucket arithmetic is driven with explicit clock values; the public API is only checked for keying
+ */
+class RateLimiterTest {
+
+    private static final long INTERVAL = 1_000_000L;
+    private static final long NOW = 5_000_000_000L;
+
+    private final RateLimiter.Limit limit = new RateLimiter.Limit(3, INTERVAL);
+
+    @Test
+    void allowsBurstUpToCapacityThenReportsWait() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket();
+
+        assertThat(bucket.tryAcquire(limit, NOW)).isZero();
+        assertThat(bucket.tryAcquire(limit, NOW)).isZero();
+        assertThat(bucket.tryAcquire(limit, NOW)).isZero();
+        assertThat(bucket.tryAcquire(limit, NOW)).isEqualTo(INTERVAL);
+        // A rejected request does not consume a token
+        assertThat(bucket.tryAcquire(limit, NOW + INTERVAL / 4)).isEqualTo(INTERVAL - INTERVAL / 4);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket();
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(limit, NOW);
+        }
+
+        assertThat(bucket.tryAcquire(limit, NOW + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(limit, NOW + INTERVAL)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(limit, NOW + 2 * INTERVAL)).isZero();
+    }
+
+    @Test
+    void idleTimeNeverBanksMoreThanCapacity() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket();
+        bucket.tryAcquire(limit, NOW);
+
+        long later = NOW + 100 * INTERVAL;
+        assertThat(bucket.tryAcquire(limit, later)).isZero();
+        assertThat(bucket.tryAcquire(limit, later)).isZero();
+        assertThat(bucket.tryAcquire(limit, later)).isZero();
+        assertThat(bucket.tryAcquire(limit, later)).isPositive();
+    }
+
+    @Test
+    void concurrentCallersAtOneInstantGetExactlyCapacity() throws Exception {
+        RateLimiter.Limit wide = new RateLimiter.Limit(50, INTERVAL);
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket();
+        int threads = 8;
+        int attemptsPerThread = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (bucket.tryAcquire(wide, NOW) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(granted).hasValue(50);
+    }
+
+    @Test
+    void bucketIsFullOnlyOnceFullyRefilled() {
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket();
+        assertThat(bucket.isFull(NOW)).isTrue();
+
+        bucket.tryAcquire(limit, NOW);
+        bucket.tryAcquire(limit, NOW);
+
+        assertThat(bucket.isFull(NOW + INTERVAL)).isFalse();
+        assertThat(bucket.isFull(NOW + 2 * INTERVAL)).isTrue();
+    }
+
+    @Test
+    void perMinuteLimitNeverDropsBelowOne() {
+        RateLimiter.Limit limit = RateLimiter.Limit.perMinute(0, 0);
+
+        assertThat(limit.capacity()).isEqualTo(1);
+        assertThat(limit.intervalNanos()).isEqualTo(TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Test
+    void callersAndEndpointClassesHaveSeparateBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(2, 1, 2, 1, 2, 1, 2, 1);
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", RateLimiter.EndpointClass.AUTH)).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", RateLimiter.EndpointClass.AUTH)).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", RateLimiter.EndpointClass.AUTH)).isPositive();
+
+        assertThat(rateLimiter.tryAcquire("10.0.0.2", RateLimiter.EndpointClass.AUTH)).isZero();
+        assertThat(rateLimiter.tryAcquire("10.0.0.1", RateLimiter.EndpointClass.SEARCH)).isZero();
+    }
+
+    @Test
+    void evictionKeepsBucketsThatAreStillRefilling() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 1, 1, 1, 1, 1, 1);
+        rateLimiter.tryAcquire("user@example.com", RateLimiter.EndpointClass.ANALYSIS);
+
+        rateLimiter.evictIdleBuckets();
+
+        // Still limited: eviction must not hand out a fresh bucket while tokens are owed
+        assertThat(rateLimiter.tryAcquire("user@example.com", RateLimiter.EndpointClass.ANALYSIS)).isPositive();
+    }
+}
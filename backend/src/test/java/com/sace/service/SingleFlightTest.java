@@ -0,0 +1,149 @@
+package com.sace.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 6;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void overlappingCallsShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<String>> results = startCallers(() -> {
+            loads.incrementAndGet();
+            release.await();
+            return "analysis";
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("analysis");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(calls("leader")).isEqualTo(1);
+        assertThat(calls("follower")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void followersReceiveLeadersCheckedException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers(() -> {
+            release.await();
+            throw new IOException("upstream failed");
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("upstream failed");
+        }
+    }
+
+    @Test
+    void followersReceiveLeadersRuntimeException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers(() -> {
+            release.await();
+            throw new IllegalStateException("quota exhausted");
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .cause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("quota exhausted");
+        }
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(flight.execute("key", () -> "first-" + loads.incrementAndGet())).isEqualTo("first-1");
+        assertThat(flight.execute("key", () -> "first-" + loads.incrementAndGet())).isEqualTo("first-2");
+        assertThat(calls("leader")).isEqualTo(2);
+        assertThat(calls("follower")).isZero();
+    }
+
+    @Test
+    void failedCallIsNotReused() {
+        assertThatThrownBy(() -> flight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> blocked = pool.submit(() -> flight.execute("slow", () -> {
+            release.await();
+            return "slow";
+        }));
+
+        assertThat(flight.execute("fast", () -> "fast")).isEqualTo("fast");
+        release.countDown();
+        assertThat(blocked.get(10, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    private List<Future<String>> startCallers(SingleFlight.Loader<String, Exception> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> flight.execute("submission-1", loader)));
+        }
+        return results;
+    }
+
+    // Followers are counted just before they block, so this holds the leader until all have joined
+    private void awaitFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calls("follower") < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Only " + calls("follower") + " followers joined");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private double calls(String role) {
+        return meterRegistry.get("sace.singleflight.calls").tag("role", role).counter().count();
+    }
+}
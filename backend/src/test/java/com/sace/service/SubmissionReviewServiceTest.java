@@ -0,0 +1,206 @@
+package com.sace.service;
+
+import com.sace.dto.BulkStatusUpdateRequest;
+import com.sace.dto.BulkStatusUpdateResult;
+import com.sace.dto.BulkStatusUpdateResult.ItemResult;
+import com.sace.dto.BulkStatusUpdateResult.Outcome;
+import com.sace.dto.SubmissionEventDTO;
+import com.sace.dto.SubmissionStatusRow;
+import com.sace.entity.Submission.SubmissionStatus;
+import com.sace.repository.SubmissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionReviewServiceTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+    @Mock
+    private AnalyticsService analyticsService;
+    @Mock
+    private SubmissionEventService eventService;
+    @Mock
+    private SubmissionSearchService searchService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SubmissionReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        reviewService = new SubmissionReviewService(submissionRepository, analyticsService, eventService,
+                searchService, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(reviewService, "maxItems", 3);
+    }
+
+    @Test
+    void staleExpectedVersionIsConflictWithoutUpdating() {
+        when(submissionRepository.findStatusRowsByIdIn(anyCollection()))
+                .thenReturn(List.of(row(1L, SubmissionStatus.SUBMITTED, 4L, "alice@example.com")));
+
+        BulkStatusUpdateResult result = reviewService.updateStatuses(request("APPROVED", item(1L, null, 3L)));
+
+        ItemResult item = result.getItems().get(0);
+        assertThat(item.getOutcome()).isEqualTo(Outcome.CONFLICT);
+        // The current state is returned so the client can show what changed
+        assertThat(item.getStatus()).isEqualTo("SUBMITTED");
+        assertThat(item.getVersion()).isEqualTo(4L);
+        verifyNoInteractions(jdbcTemplate, analyticsService, searchService, eventService);
+    }
+
+    @Test
+    void appliesRowsWhoseVersionStillMatchesAndReportsTheRestAsConflicts() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(submissionRepository.findStatusRowsByIdIn(anyCollection())).thenReturn(List.of(
+                row(1L, SubmissionStatus.SUBMITTED, 3L, "alice@example.com"),
+                row(2L, SubmissionStatus.UNDER_REVIEW, 7L, "bob@example.com")));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        // Row 2 changed between the SELECT and the UPDATE, so its version guard matches nothing
+        stubBatch(statement, 1, 0);
+
+        BulkStatusUpdateResult result = reviewService.updateStatuses(
+                request("APPROVED", item(1L, null, 3L), item(2L, null, null)));
+
+        ItemResult updated = result.getItems().get(0);
+        assertThat(updated.getOutcome()).isEqualTo(Outcome.UPDATED);
+        assertThat(updated.getStatus()).isEqualTo("APPROVED");
+        assertThat(updated.getVersion()).isEqualTo(4L);
+        assertThat(result.getItems().get(1).getOutcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(result.getOutcomes()).containsEntry(Outcome.UPDATED, 1).containsEntry(Outcome.CONFLICT, 1);
+
+        // Each UPDATE is guarded by the version that was read
+        verify(statement).setLong(3, 1L);
+        verify(statement).setLong(4, 3L);
+        verify(statement).setLong(3, 2L);
+        verify(statement).setLong(4, 7L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<SubmissionStatus, Long>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(analyticsService).recordStatusChanges(deltas.capture());
+        assertThat(deltas.getValue())
+                .containsEntry(SubmissionStatus.SUBMITTED, -1L)
+                .containsEntry(SubmissionStatus.APPROVED, 1L)
+                .doesNotContainKey(SubmissionStatus.UNDER_REVIEW);
+        verify(transactionManager).commit(any());
+
+        verify(searchService).touch(eq(1L), any(LocalDateTime.class));
+        verify(searchService, never()).touch(eq(2L), any());
+        ArgumentCaptor<SubmissionEventDTO> event = ArgumentCaptor.forClass(SubmissionEventDTO.class);
+        verify(eventService).publish(event.capture(), eq("alice@example.com"));
+        assertThat(event.getValue().getSubmissionId()).isEqualTo(1L);
+        assertThat(event.getValue().getStatus()).isEqualTo("APPROVED");
+        verify(eventService, never()).publish(any(SubmissionEventDTO.class), eq("bob@example.com"));
+    }
+
+    @Test
+    void itemStatusOverridesRequestStatus() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(submissionRepository.findStatusRowsByIdIn(anyCollection()))
+                .thenReturn(List.of(row(1L, SubmissionStatus.SUBMITTED, 0L, "alice@example.com")));
+        stubBatch(mock(PreparedStatement.class), 1);
+
+        BulkStatusUpdateResult result = reviewService.updateStatuses(
+                request("APPROVED", item(1L, "rejected", 0L)));
+
+        assertThat(result.getItems().get(0).getStatus()).isEqualTo("REJECTED");
+    }
+
+    @Test
+    void sameStatusMissingRowsAndInvalidItemsNeverReachTheBatch() {
+        when(submissionRepository.findStatusRowsByIdIn(anyCollection()))
+                .thenReturn(List.of(row(1L, SubmissionStatus.APPROVED, 2L, "alice@example.com")));
+        ReflectionTestUtils.setField(reviewService, "maxItems", 10);
+
+        BulkStatusUpdateResult result = reviewService.updateStatuses(request("APPROVED",
+                item(1L, null, 2L),
+                item(99L, null, null),
+                item(null, null, null),
+                item(1L, null, null),
+                item(5L, "ARCHIVED", null)));
+
+        assertThat(result.getItems()).extracting(ItemResult::getOutcome).containsExactly(
+                Outcome.UNCHANGED, Outcome.NOT_FOUND, Outcome.INVALID, Outcome.INVALID, Outcome.INVALID);
+        assertThat(result.getOutcomes())
+                .containsEntry(Outcome.UNCHANGED, 1)
+                .containsEntry(Outcome.NOT_FOUND, 1)
+                .containsEntry(Outcome.INVALID, 3);
+        assertThat(result.getRequested()).isEqualTo(5);
+        verifyNoInteractions(jdbcTemplate, transactionManager, analyticsService, eventService);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThatThrownBy(() -> reviewService.updateStatuses(request("APPROVED")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reviewService.updateStatuses(request("APPROVED",
+                item(1L, null, null), item(2L, null, null), item(3L, null, null), item(4L, null, null))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3");
+        verifyNoInteractions(submissionRepository);
+    }
+
+    /**
+     * Answer the JDBC batch with the given per-row update counts, running the statement setter
+     * against a mock so the bound parameters can be verified
+     */
+    @SuppressWarnings("unchecked")
+    private void stubBatch(PreparedStatement statement, int... counts) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Object> args = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object arg : args) {
+                        setter.setValues(statement, arg);
+                    }
+                    return new int[][] {counts};
+                });
+    }
+
+    private static SubmissionStatusRow row(Long id, SubmissionStatus status, Long version, String ownerEmail) {
+        return new SubmissionStatusRow(id, status, version, "srs-" + id + ".pdf", ownerEmail);
+    }
+
+    private static BulkStatusUpdateRequest.Item item(Long id, String status, Long version) {
+        return BulkStatusUpdateRequest.Item.builder().id(id).status(status).version(version).build();
+    }
+
+    private static BulkStatusUpdateRequest request(String status, BulkStatusUpdateRequest.Item... items) {
+        return BulkStatusUpdateRequest.builder()
+                .status(status)
+                .items(new ArrayList<>(Arrays.asList(items)))
+                .build();
+    }
+}
@@ -51,4 +51,33 @@ export const userAPI = {
   deleteCurrentUser: () => api.delete('/api/users/me'),
 };
 
+// Server-sent events for submission status / analysis changes.
+// EventSource cannot send headers, so the token goes in the query string.
+// onReconnect runs when the stream is re-established (the server drops clients that fall behind),
+// so the caller can reload whatever it missed.
+export const subscribeToSubmissionEvents = (onEvent, onReconnect) => {
+  const token = localStorage.getItem('token');
+  if (!token || typeof EventSource === 'undefined') {
+    return () => {};
+  }
+  const source = new EventSource(
+    `${API_BASE_URL}/submissions/events?access_token=${encodeURIComponent(token)}`
+  );
+  let connected = false;
+  source.addEventListener('connected', () => {
+    if (connected) {
+      onReconnect?.();
+    }
+    connected = true;
+  });
+  source.addEventListener('submission', (event) => {
+    try {
+      onEvent(JSON.parse(event.data));
+    } catch (error) {
+      console.error('Failed to parse submission event:', error);
+    }
+  });
+  return () => source.close();
+};
+
 export default api;
@@ -1,8 +1,8 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '@/contexts/AuthContext';
 import { 
-  FileText, BarChart3, Settings, Filter, TrendingUp, CheckCircle, X, RefreshCw, Eye
+  FileText, BarChart3, Settings, Filter, TrendingUp, CheckCircle, X, RefreshCw, Eye, Download
 } from 'lucide-react';
 import Layout from '@/components/layout/Layout';
 import { Button } from '@/components/ui/button';
@@ -10,7 +10,7 @@ import { Card, CardContent } from '@/components/ui/card';
 import { Badge } from '@/components/ui/badge';
 import { Dialog, DialogContent, DialogHeader, DialogTitle, DialogTrigger } from '@/components/ui/dialog';
 import { Textarea } from '@/components/ui/textarea';
-import api from '@/lib/api';
+import api, { subscribeToSubmissionEvents } from '@/lib/api';
 
 const InstructorDashboard = () => {
   const navigate = useNavigate();
@@ -30,24 +30,74 @@ const InstructorDashboard = () => {
 
   const [loadingSubmissions, setLoadingSubmissions] = useState(false);
   const [updatingStatus, setUpdatingStatus] = useState(null);
+  const [previews, setPreviews] = useState({});
+  const [details, setDetails] = useState({});
+  // Summary text relayed by ANALYSIS_DELTA events while a submission is being analyzed
+  const [liveAnalysis, setLiveAnalysis] = useState({});
+  // Submission whose details dialog is open, so a finished analysis can replace the live text
+  const openDetailsId = useRef(null);
 
   useEffect(() => {
     if (user && user.role === 'INSTRUCTOR') {
       console.log('User loaded, fetching submissions...');
       fetchAllSubmissions();
-      // Auto-refresh every 10 seconds
-      const interval = setInterval(() => {
-        fetchAllSubmissions();
-      }, 10000);
-      return () => clearInterval(interval);
+      // Live updates instead of polling the full list
+      return subscribeToSubmissionEvents((event) => {
+        if (event.type === 'STATUS_CHANGED') {
+          setSubmissions((prev) =>
+            prev.map((sub) => (sub.id === event.submissionId ? { ...sub, status: event.status } : sub))
+          );
+        } else if (event.type === 'ANALYSIS_STARTED') {
+          setSubmissions((prev) =>
+            prev.map((sub) => (sub.id === event.submissionId ? { ...sub, analysisStatus: 'PENDING' } : sub))
+          );
+          setLiveAnalysis((prev) => ({ ...prev, [event.submissionId]: '' }));
+        } else if (event.type === 'ANALYSIS_DELTA') {
+          setLiveAnalysis((prev) => ({
+            ...prev,
+            [event.submissionId]: (prev[event.submissionId] ?? '') + event.delta,
+          }));
+        } else if (event.type === 'DELETED') {
+          setSubmissions((prev) => prev.filter((sub) => sub.id !== event.submissionId));
+        } else {
+          refreshSubmission(event.submissionId);
+          if (event.type === 'ANALYSIS_COMPLETED') {
+            finishLiveAnalysis(event.submissionId);
+          }
+        }
+      }, fetchAllSubmissions);
     }
   }, [user]);
 
+  // The stored analysis replaces the live text; reload it now only if its dialog is open
+  const finishLiveAnalysis = (submissionId) => {
+    setLiveAnalysis(({ [submissionId]: _, ...rest }) => rest);
+    if (openDetailsId.current === submissionId) {
+      loadDetails(submissionId);
+    } else {
+      setDetails(({ [submissionId]: _, ...rest }) => rest);
+    }
+  };
+
+  // Re-read only the row an event refers to, without its document text
+  const refreshSubmission = async (submissionId) => {
+    try {
+      const response = await api.get(`/submissions/${submissionId}`, { params: { view: 'summary' } });
+      setSubmissions((prev) =>
+        prev.some((sub) => sub.id === submissionId)
+          ? prev.map((sub) => (sub.id === submissionId ? { ...sub, ...response.data } : sub))
+          : [response.data, ...prev]
+      );
+    } catch (error) {
+      console.error(`Failed to refresh submission ${submissionId}:`, error);
+    }
+  };
+
   const fetchAllSubmissions = async () => {
     try {
       setLoadingSubmissions(true);
       console.log('Fetching all submissions from /submissions/all...');
-      const response = await api.get('/submissions/all');
+      const response = await api.get('/submissions/all', { params: { view: 'summary' } });
       console.log('Submissions response:', response.data);
       setSubmissions(response.data || []);
     } catch (error) {
@@ -64,17 +114,123 @@ const InstructorDashboard = () => {
     try {
       setUpdatingStatus(submissionId);
       console.log(`Updating submission ${submissionId} to status: ${status}`);
-      await api.patch(`/submissions/${submissionId}/status`, { status });
-      // Refresh the submissions list
-      await fetchAllSubmissions();
+      // Sending the version makes the server refuse to overwrite another reviewer's change
+      const version = submissions.find((sub) => sub.id === submissionId)?.version;
+      const response = await api.patch(`/submissions/${submissionId}/status`, { status, version });
+      // Update the row in place rather than reloading the whole list
+      setSubmissions((prev) =>
+        prev.map((sub) =>
+          sub.id === submissionId ? { ...sub, status: response.data.status, version: response.data.version } : sub
+        )
+      );
     } catch (error) {
       console.error('Failed to update submission status:', error);
+      if (error.response?.status === 409) {
+        refreshSubmission(submissionId);
+        alert('This submission was changed by another reviewer. Review its current status and try again.');
+        return;
+      }
       alert('Failed to update submission status. Please try again.');
     } finally {
       setUpdatingStatus(null);
     }
   };
 
+  const handleApprovePending = async () => {
+    const pending = submissions.filter((sub) => sub.status?.toLowerCase() === 'submitted');
+    if (pending.length === 0) return;
+    try {
+      setUpdatingStatus('bulk');
+      // Versions make the server skip rows another reviewer changed since this list was loaded
+      const response = await api.patch('/submissions/status', {
+        status: 'APPROVED',
+        items: pending.map((sub) => ({ id: sub.id, version: sub.version })),
+      });
+      const results = new Map(response.data.items.map((item) => [item.id, item]));
+      setSubmissions((prev) =>
+        prev.map((sub) => {
+          const result = results.get(sub.id);
+          return result?.status ? { ...sub, status: result.status, version: result.version } : sub;
+        })
+      );
+      const conflicts = response.data.outcomes.CONFLICT || 0;
+      if (conflicts > 0) {
+        alert(`${conflicts} submission(s) were changed by another reviewer and were not approved.`);
+      }
+    } catch (error) {
+      console.error('Failed to approve submissions:', error);
+      alert('Failed to approve submissions. Please try again.');
+    } finally {
+      setUpdatingStatus(null);
+    }
+  };
+
+  const handleReanalyze = async (submission) => {
+    try {
+      await api.post(`/api/instructor/jobs/reanalyze/${submission.id}`);
+      setSubmissions((prev) =>
+        prev.map((sub) => (sub.id === submission.id ? { ...sub, analysisStatus: 'PENDING' } : sub))
+      );
+    } catch (error) {
+      console.error('Failed to queue re-analysis:', error);
+      alert(error.response?.data?.message || 'Failed to queue re-analysis. Please try again.');
+    }
+  };
+
+  const handleDownload = async (submission) => {
+    try {
+      const response = await api.get(`/submissions/${submission.id}/file`, { responseType: 'blob' });
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = submission.fileName;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error('Failed to download file:', error);
+      alert('Failed to download the original file. Please try again.');
+    }
+  };
+
+  const handleExport = async () => {
+    try {
+      const response = await api.get('/api/instructor/submissions/export', {
+        params: { format: 'csv', includeAnalysis: true },
+        responseType: 'blob',
+      });
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `submissions-${new Date().toISOString().slice(0, 10)}.csv`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error('Failed to export submissions:', error);
+      alert('Failed to export submissions. Please try again.');
+    }
+  };
+
+  // Lists load the summary view; the text and analysis are fetched when a details dialog opens
+  const loadDetails = async (submissionId) => {
+    try {
+      const response = await api.get(`/submissions/${submissionId}`);
+      setDetails((prev) => ({ ...prev, [submissionId]: response.data }));
+    } catch (error) {
+      console.error('Failed to load submission details:', error);
+    }
+  };
+
+  const handlePreview = async (submission) => {
+    try {
+      const response = await api.get(`/submissions/${submission.id}/pages/1/preview`, { responseType: 'blob' });
+      const url = URL.createObjectURL(response.data);
+      setPreviews((prev) => ({ ...prev, [submission.id]: url }));
+    } catch (error) {
+      console.error('Failed to load preview:', error);
+      alert('Failed to load the page preview. Please try again.');
+    }
+  };
+
   const getFilteredSubmissions = () => {
     if (statusFilter === 'all') return submissions;
     return submissions.filter(sub => {
@@ -98,6 +254,9 @@ const InstructorDashboard = () => {
   };
 
   const getSubmissionScore = (submission) => {
+    if (submission.analysisStatus === 'PENDING') return 'Analyzing...';
+    // qualityScore (1-10) is part of the summary rows the lists load
+    if (submission.qualityScore != null) return submission.qualityScore * 10;
     if (!submission.sectionAnalysis) return '-';
     
     try {
@@ -291,6 +450,20 @@ const InstructorDashboard = () => {
                         <RefreshCw className={`h-4 w-4 ${loadingSubmissions ? 'animate-spin' : ''}`} />
                         Refresh
                       </Button>
+                      <Button
+                        variant="outline"
+                        size="sm"
+                        className="gap-2"
+                        onClick={handleApprovePending}
+                        disabled={updatingStatus === 'bulk'}
+                      >
+                        <CheckCircle className="h-4 w-4" />
+                        Approve pending
+                      </Button>
+                      <Button variant="outline" size="sm" className="gap-2" onClick={handleExport}>
+                        <Download className="h-4 w-4" />
+                        Export CSV
+                      </Button>
                       <Button variant="outline" size="sm" className="gap-2">
                         <Filter className="h-4 w-4" />
                         Filter
@@ -348,7 +521,12 @@ const InstructorDashboard = () => {
                               </td>
                               <td className="py-4 px-4">
                                 <div className="flex items-center gap-2">
-                                  <Dialog>
+                                  <Dialog
+                                    onOpenChange={(open) => {
+                                      openDetailsId.current = open ? submission.id : null;
+                                      if (open) loadDetails(submission.id);
+                                    }}
+                                  >
                                     <DialogTrigger asChild>
                                       <Button 
                                         variant="ghost" 
@@ -371,23 +549,54 @@ const InstructorDashboard = () => {
                                             <p className="text-sm"><span className="font-medium">Status:</span> {submission.status}</p>
                                             <p className="text-sm"><span className="font-medium">Submitted:</span> {new Date(submission.createdAt).toLocaleString()}</p>
                                             <p className="text-sm"><span className="font-medium">File Size:</span> {(submission.fileSize / 1024).toFixed(2)} KB</p>
+                                            {submission.fileType !== 'LINK' && (
+                                              <Button variant="outline" size="sm" onClick={() => handleDownload(submission)}>
+                                                <Download className="h-4 w-4 mr-2" />
+                                                Download original
+                                              </Button>
+                                            )}
+                                            <Button variant="outline" size="sm" className="ml-2" onClick={() => handleReanalyze(submission)}>
+                                              <RefreshCw className="h-4 w-4 mr-2" />
+                                              Re-analyze
+                                            </Button>
+                                            {submission.fileType === 'PDF' && !previews[submission.id] && (
+                                              <Button variant="outline" size="sm" className="ml-2" onClick={() => handlePreview(submission)}>
+                                                <Eye className="h-4 w-4 mr-2" />
+                                                Preview first page
+                                              </Button>
+                                            )}
+                                            {previews[submission.id] && (
+                                              <img
+                                                src={previews[submission.id]}
+                                                alt={`First page of ${submission.fileName}`}
+                                                className="border rounded max-w-full"
+                                              />
+                                            )}
                                           </div>
                                         </div>
-                                        {submission.extractedText && (
+                                        {details[submission.id]?.extractedText && (
                                           <div>
                                             <h4 className="font-medium mb-2">Extracted Text</h4>
                                             <Textarea
-                                              value={submission.extractedText}
+                                              value={details[submission.id]?.extractedText}
                                               readOnly
                                               className="min-h-[200px]"
                                             />
                                           </div>
                                         )}
-                                        {submission.sectionAnalysis && (
+                                        {liveAnalysis[submission.id] != null && (
+                                          <div>
+                                            <h4 className="font-medium mb-2">AI Analysis (generating...)</h4>
+                                            <div className="bg-gray-100 dark:bg-gray-800 p-4 rounded text-sm overflow-x-auto whitespace-pre-wrap">
+                                              {liveAnalysis[submission.id]}
+                                            </div>
+                                          </div>
+                                        )}
+                                        {liveAnalysis[submission.id] == null && details[submission.id]?.sectionAnalysis && (
                                           <div>
                                             <h4 className="font-medium mb-2">AI Analysis Results</h4>
                                             <div className="bg-gray-100 dark:bg-gray-800 p-4 rounded text-sm overflow-x-auto whitespace-pre-wrap">
-                                              {submission.sectionAnalysis}
+                                              {details[submission.id]?.sectionAnalysis}
                                             </div>
                                           </div>
                                         )}
@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useAuth } from '@/contexts/AuthContext';
 import {
@@ -14,7 +14,7 @@ import { Textarea } from '@/components/ui/textarea';
 import { Alert, AlertDescription } from '@/components/ui/alert';
 import { Badge } from '@/components/ui/badge';
 import { Dialog, DialogContent, DialogHeader, DialogTitle, DialogTrigger } from '@/components/ui/dialog';
-import api from '@/lib/api';
+import api, { subscribeToSubmissionEvents } from '@/lib/api';
 
 const SubmissionPage = () => {
   const navigate = useNavigate();
@@ -35,6 +35,13 @@ const SubmissionPage = () => {
   const [resubmitMethod, setResubmitMethod] = useState('file');
   const [deleteDialogOpen, setDeleteDialogOpen] = useState(false);
   const [submissionToDelete, setSubmissionToDelete] = useState(null);
+  const [details, setDetails] = useState({});
+  // Summary text relayed by ANALYSIS_DELTA events while a submission is being analyzed
+  const [liveAnalysis, setLiveAnalysis] = useState({});
+  // Submission whose details dialog is open, so a finished analysis can replace the live text
+  const openDetailsId = useRef(null);
+  // Idempotency key of the submission being sent; kept across retries of the same file or link
+  const pendingSubmission = useRef(null);
   const [processingStep, setProcessingStep] = useState(0);
   const [scoreDialogOpen, setScoreDialogOpen] = useState(false);
   const [selectedScoreSubmission, setSelectedScoreSubmission] = useState(null);
@@ -51,13 +58,61 @@ const SubmissionPage = () => {
   useEffect(() => {
     if (user) {
       fetchSubmissions();
+      return subscribeToSubmissionEvents((event) => {
+        if (event.type === 'STATUS_CHANGED') {
+          setSubmissions((prev) =>
+            prev.map((sub) => (sub.id === event.submissionId ? { ...sub, status: event.status } : sub))
+          );
+        } else if (event.type === 'ANALYSIS_STARTED') {
+          setSubmissions((prev) =>
+            prev.map((sub) => (sub.id === event.submissionId ? { ...sub, analysisStatus: 'PENDING' } : sub))
+          );
+          setLiveAnalysis((prev) => ({ ...prev, [event.submissionId]: '' }));
+        } else if (event.type === 'ANALYSIS_DELTA') {
+          setLiveAnalysis((prev) => ({
+            ...prev,
+            [event.submissionId]: (prev[event.submissionId] ?? '') + event.delta,
+          }));
+        } else if (event.type === 'DELETED') {
+          setSubmissions((prev) => prev.filter((sub) => sub.id !== event.submissionId));
+        } else if (event.type === 'CREATED' || event.type === 'ANALYSIS_COMPLETED') {
+          refreshSubmission(event.submissionId);
+          if (event.type === 'ANALYSIS_COMPLETED') {
+            finishLiveAnalysis(event.submissionId);
+          }
+        }
+      }, fetchSubmissions);
     }
   }, [user]);
 
+  // The stored analysis replaces the live text; reload it now only if its dialog is open
+  const finishLiveAnalysis = (submissionId) => {
+    setLiveAnalysis(({ [submissionId]: _, ...rest }) => rest);
+    if (openDetailsId.current === submissionId) {
+      loadDetails(submissionId);
+    } else {
+      setDetails(({ [submissionId]: _, ...rest }) => rest);
+    }
+  };
+
+  // Re-read only the row an event refers to, without its document text
+  const refreshSubmission = async (submissionId) => {
+    try {
+      const response = await api.get(`/submissions/${submissionId}`, { params: { view: 'summary' } });
+      setSubmissions((prev) =>
+        prev.some((sub) => sub.id === submissionId)
+          ? prev.map((sub) => (sub.id === submissionId ? { ...sub, ...response.data } : sub))
+          : [response.data, ...prev]
+      );
+    } catch (error) {
+      console.error(`Failed to refresh submission ${submissionId}:`, error);
+    }
+  };
+
   const fetchSubmissions = async () => {
     try {
       console.log('Fetching submissions from:', '/submissions');
-      const response = await api.get('/submissions');
+      const response = await api.get('/submissions', { params: { view: 'summary' } });
       console.log('Submissions response:', response.data);
       setSubmissions(response.data);
     } catch (error) {
@@ -74,6 +129,13 @@ const SubmissionPage = () => {
     setTimeout(() => setAlert(null), 5000);
   };
 
+  const idempotencyKeyFor = (target) => {
+    if (pendingSubmission.current?.target !== target) {
+      pendingSubmission.current = { target, key: crypto.randomUUID() };
+    }
+    return pendingSubmission.current.key;
+  };
+
   const handleFileUpload = async () => {
     if (!selectedFile) {
       showAlert('Please select a file to upload', 'error');
@@ -93,16 +155,18 @@ const SubmissionPage = () => {
       const response = await api.post('/submissions/upload', formData, {
         headers: {
           'Content-Type': 'multipart/form-data',
+          'Idempotency-Key': idempotencyKeyFor(selectedFile),
         },
       });
+      pendingSubmission.current = null;
 
       setProcessingStep(3); // Generating Scores
       await new Promise(resolve => setTimeout(resolve, 500));
 
-      setSubmissions([response.data, ...submissions]);
+      setSubmissions([response.data, ...submissions.filter(sub => sub.id !== response.data.id)]);
       setSelectedFile(null);
       setProcessingStep(0);
-      showAlert('File uploaded successfully!');
+      showAlert('File uploaded successfully! Analysis will appear when it completes.');
     } catch (error) {
       console.error('Upload failed:', error);
       setProcessingStep(0);
@@ -124,15 +188,18 @@ const SubmissionPage = () => {
     try {
       setTimeout(() => setProcessingStep(2), 500); // Extracting Text
       
-      const response = await api.post('/submissions/link', { driveLink: driveLink.trim() });
+      const response = await api.post('/submissions/link', { driveLink: driveLink.trim() }, {
+        headers: { 'Idempotency-Key': idempotencyKeyFor(driveLink.trim()) },
+      });
+      pendingSubmission.current = null;
       
       setProcessingStep(3); // Generating Scores
       await new Promise(resolve => setTimeout(resolve, 500));
       
-      setSubmissions([response.data, ...submissions]);
+      setSubmissions([response.data, ...submissions.filter(sub => sub.id !== response.data.id)]);
       setDriveLink('');
       setProcessingStep(0);
-      showAlert('Link submitted successfully!');
+      showAlert('Link submitted successfully! Analysis will appear when it completes.');
     } catch (error) {
       console.error('Link submission failed:', error);
       setProcessingStep(0);
@@ -191,17 +258,23 @@ const SubmissionPage = () => {
       if (resubmitMethod === 'file') {
         const formData = new FormData();
         formData.append('file', resubmitFile);
-        response = await api.post('/submissions', formData, {
-          headers: { 'Content-Type': 'multipart/form-data' }
+        response = await api.post('/submissions/upload', formData, {
+          headers: {
+            'Content-Type': 'multipart/form-data',
+            'Idempotency-Key': idempotencyKeyFor(resubmitFile),
+          },
         });
       } else {
-        response = await api.post('/submissions/link', { driveLink: resubmitLink.trim() });
+        response = await api.post('/submissions/link', { driveLink: resubmitLink.trim() }, {
+          headers: { 'Idempotency-Key': idempotencyKeyFor(resubmitLink.trim()) },
+        });
       }
+      pendingSubmission.current = null;
       
       setProcessingStep(3); // Generating Scores
       await new Promise(resolve => setTimeout(resolve, 500));
       
-      setSubmissions([response.data, ...submissions]);
+      setSubmissions([response.data, ...submissions.filter(sub => sub.id !== response.data.id)]);
       setResubmitLink('');
       setResubmitFile(null);
       setProcessingStep(0);
@@ -264,7 +337,20 @@ const SubmissionPage = () => {
     });
   };
 
+  // Lists load the summary view; the text and analysis are fetched when a details dialog opens
+  const loadDetails = async (submissionId) => {
+    try {
+      const response = await api.get(`/submissions/${submissionId}`);
+      setDetails((prev) => ({ ...prev, [submissionId]: response.data }));
+    } catch (error) {
+      console.error('Failed to load submission details:', error);
+    }
+  };
+
   const getSubmissionScore = (submission) => {
+    if (submission.analysisStatus === 'PENDING') return 'Analyzing...';
+    // qualityScore (1-10) is part of the summary rows the lists load
+    if (submission.qualityScore != null) return submission.qualityScore * 10;
     if (!submission.sectionAnalysis) return '-';
     
     try {
@@ -688,7 +774,12 @@ const SubmissionPage = () => {
                           </td>
                           <td className="py-4 px-4">
                             <div className="flex items-center gap-2">
-                              <Dialog>
+                              <Dialog
+                                onOpenChange={(open) => {
+                                  openDetailsId.current = open ? submission.id : null;
+                                  if (open) loadDetails(submission.id);
+                                }}
+                              >
                                 <DialogTrigger asChild>
                                   <Button variant="ghost" size="icon" className="h-8 w-8">
                                     <Eye className="h-4 w-4" />
@@ -699,21 +790,29 @@ const SubmissionPage = () => {
                                     <DialogTitle>{submission.fileName}</DialogTitle>
                                   </DialogHeader>
                                   <div className="space-y-4">
-                                    {submission.extractedText && (
+                                    {details[submission.id]?.extractedText && (
                                       <div>
                                         <h4 className="font-medium mb-2">Extracted Text</h4>
                                         <Textarea
-                                          value={submission.extractedText}
+                                          value={details[submission.id]?.extractedText}
                                           readOnly
                                           className="min-h-[200px]"
                                         />
                                       </div>
                                     )}
-                                    {submission.sectionAnalysis && (
+                                    {liveAnalysis[submission.id] != null && (
+                                      <div>
+                                        <h4 className="font-medium mb-2">AI Analysis (generating...)</h4>
+                                        <div className="bg-gray-100 p-4 rounded text-sm overflow-x-auto whitespace-pre-wrap">
+                                          {liveAnalysis[submission.id]}
+                                        </div>
+                                      </div>
+                                    )}
+                                    {liveAnalysis[submission.id] == null && details[submission.id]?.sectionAnalysis && (
                                       <div>
                                         <h4 className="font-medium mb-2">AI Analysis Results</h4>
                                         <div className="bg-gray-100 p-4 rounded text-sm overflow-x-auto whitespace-pre-wrap">
-                                          {submission.sectionAnalysis}
+                                          {details[submission.id]?.sectionAnalysis}
                                         </div>
                                       </div>
                                     )}